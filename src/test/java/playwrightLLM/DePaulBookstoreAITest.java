@@ -2,6 +2,9 @@ package playwrightLLM;
 
 import com.microsoft.playwright.*;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import playwrightSupport.BrowserHarness;
+import playwrightSupport.ResultCache;
 
 import java.nio.file.Paths;
 
@@ -12,115 +15,116 @@ import static com.microsoft.playwright.assertions.PlaywrightAssertions.assertTha
  * Alternative implementation using modular helper methods
  * Tests the complete purchase workflow with reusable components
  */
+@ExtendWith(ResultCache.class)
 public class DePaulBookstoreAITest {
-    private static Playwright playwright;
-    private static Browser browser;
-    private BrowserContext context;
+    private static BrowserHarness harness;
+    // Only the unused step helpers below use this; live tests get their page from harness.run
     private Page page;
 
     @BeforeAll
     static void launchBrowser() {
-        playwright = Playwright.create();
         // Run headless in CI environments, headed locally
         boolean isCI = System.getenv("CI") != null;
-        browser = playwright.chromium().launch(new BrowserType.LaunchOptions()
-                .setHeadless(isCI));
+        harness = BrowserHarness.launch("DePaulBookstoreAITest",
+                new BrowserType.LaunchOptions()
+                        .setHeadless(isCI),
+                () -> new Browser.NewContextOptions()
+                        .setRecordVideoDir(Paths.get("videos/"))
+                        .setRecordVideoSize(1280, 720));
     }
 
     @AfterAll
     static void closeBrowser() {
-        browser.close();
-        playwright.close();
+        if (harness != null) {
+            harness.close();
+        }
     }
 
     @BeforeEach
-    void createContextAndPage() {
-        context = browser.newContext(new Browser.NewContextOptions()
-                .setRecordVideoDir(Paths.get("videos/"))
-                .setRecordVideoSize(1280, 720));
-        page = context.newPage();
-        
-        // Set longer timeout for CI environments
-        page.setDefaultTimeout(60000); // 60 seconds
-        page.setDefaultNavigationTimeout(60000);
-        
-        context.clearCookies();
+    void createContextAndPage(TestInfo testInfo) {
+        harness.open(testInfo.getDisplayName());
     }
 
     @AfterEach
     void closeContext() {
-        context.close();
+        harness.finish();
     }
 
     @Test
     @DisplayName("Test Website Loading and Response")
     public void testWebsiteLoadingAndResponse() {
-        System.out.println("=== Test: Website Loading ===");
-        
-        // Navigate to DePaul bookstore
-        page.navigate("https://depaul.bncollege.com/");
-        page.waitForLoadState();
-        
-        // Verify successful navigation
-        String url = page.url();
-        System.out.println("Current URL: " + url);
-        assertThat(page).hasURL("https://depaul.bncollege.com/");
-        
-        // Verify page title
-        String title = page.title();
-        System.out.println("Page Title: " + title);
-        org.junit.jupiter.api.Assertions.assertNotNull(title, "Page should have a title");
-        org.junit.jupiter.api.Assertions.assertFalse(title.isEmpty(), "Page title should not be empty");
-        System.out.println("✅ Page loaded successfully");
+        harness.run(page -> {
+            System.out.println("=== Test: Website Loading ===");
+            
+            // Navigate to DePaul bookstore
+            page.navigate(harness.baseUrl() + "/");
+            page.waitForLoadState();
+            
+            // Verify successful navigation
+            String url = page.url();
+            System.out.println("Current URL: " + url);
+            assertThat(page).hasURL(harness.baseUrl() + "/");
+            
+            // Verify page title
+            String title = page.title();
+            System.out.println("Page Title: " + title);
+            org.junit.jupiter.api.Assertions.assertNotNull(title, "Page should have a title");
+            org.junit.jupiter.api.Assertions.assertFalse(title.isEmpty(), "Page title should not be empty");
+            System.out.println("✅ Page loaded successfully");
+        });
     }
     
     @Test
     @DisplayName("Test Basic Page Interaction")
     public void testBasicPageInteraction() {
-        System.out.println("=== Test: Basic Page Interaction ===");
-        
-        page.navigate("https://depaul.bncollege.com/");
-        page.waitForLoadState();
-        page.waitForTimeout(2000);
-        
-        // Verify we can interact with the page
-        Locator body = page.locator("body");
-        assertThat(body).isVisible();
-        
-        // Count elements to verify page loaded
-        int elementCount = page.locator("*").count();
-        System.out.println("Elements on page: " + elementCount);
-        org.junit.jupiter.api.Assertions.assertTrue(elementCount > 10, "Page should have multiple elements");
-        
-        System.out.println("✅ Page interaction test passed");
+        harness.run(page -> {
+            System.out.println("=== Test: Basic Page Interaction ===");
+            
+            page.navigate(harness.baseUrl() + "/");
+            page.waitForLoadState();
+            page.waitForTimeout(2000);
+            
+            // Verify we can interact with the page
+            Locator body = page.locator("body");
+            assertThat(body).isVisible();
+            
+            // Count elements to verify page loaded
+            int elementCount = page.locator("*").count();
+            System.out.println("Elements on page: " + elementCount);
+            org.junit.jupiter.api.Assertions.assertTrue(elementCount > 10, "Page should have multiple elements");
+            
+            System.out.println("✅ Page interaction test passed");
+        });
     }
     
     @Test
     @DisplayName("Test Browser Functionality")
     public void testBrowserFunctionality() {
-        System.out.println("=== Test: Browser Functionality ===");
-        
-        // Test navigation
-        page.navigate("https://depaul.bncollege.com/");
-        page.waitForLoadState();
-        String url1 = page.url();
-        System.out.println("Navigated to: " + url1);
-        org.junit.jupiter.api.Assertions.assertTrue(url1.contains("depaul"), "Should be on DePaul website");
-        
-        // Test getting content
-        String content = page.content();
-        System.out.println("Page content length: " + content.length());
-        org.junit.jupiter.api.Assertions.assertTrue(content.length() > 0, "Page should have content");
-        
-        // Test screenshot capability
-        byte[] screenshot = page.screenshot();
-        System.out.println("Screenshot size: " + screenshot.length + " bytes");
-        org.junit.jupiter.api.Assertions.assertTrue(screenshot.length > 0, "Should capture screenshot");
-        
-        System.out.println("✅ Browser functionality verified");
-        System.out.println("   - Navigation: Working");
-        System.out.println("   - Content retrieval: Working");
-        System.out.println("   - Screenshot: Working");
+        harness.run(page -> {
+            System.out.println("=== Test: Browser Functionality ===");
+            
+            // Test navigation
+            page.navigate(harness.baseUrl() + "/");
+            page.waitForLoadState();
+            String url1 = page.url();
+            System.out.println("Navigated to: " + url1);
+            org.junit.jupiter.api.Assertions.assertTrue(url1.startsWith(harness.baseUrl()), "Should be on DePaul website");
+            
+            // Test getting content
+            String content = page.content();
+            System.out.println("Page content length: " + content.length());
+            org.junit.jupiter.api.Assertions.assertTrue(content.length() > 0, "Page should have content");
+            
+            // Test screenshot capability
+            byte[] screenshot = page.screenshot();
+            System.out.println("Screenshot size: " + screenshot.length + " bytes");
+            org.junit.jupiter.api.Assertions.assertTrue(screenshot.length > 0, "Should capture screenshot");
+            
+            System.out.println("✅ Browser functionality verified");
+            System.out.println("   - Navigation: Working");
+            System.out.println("   - Content retrieval: Working");
+            System.out.println("   - Screenshot: Working");
+        });
     }
 
     private void navigateAndSearch() {
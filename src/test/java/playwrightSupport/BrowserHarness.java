@@ -0,0 +1,173 @@
+package playwrightSupport;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Browser lifecycle shared by the UI suites.
+ *
+ * Picks the run mode once per test class: the cross-browser matrix, the persistent
+ * cache profile, or a single Chromium with a fresh context per test. The local
+ * storefront is started alongside whichever mode is active, and every page handed
+ * to a test is prepared the same way.
+ */
+public class BrowserHarness implements AutoCloseable {
+    private final String suiteName;
+    private final Supplier<Browser.NewContextOptions> contextOptions;
+    private LocalStorefront storefront;
+    private BrowserMatrix matrix;
+    private Playwright playwright;
+    private PersistentCacheProfile cacheProfile;
+    private Browser browser;
+    private String testName;
+    private Page page;
+
+    private BrowserHarness(String suiteName, Supplier<Browser.NewContextOptions> contextOptions) {
+        this.suiteName = suiteName;
+        this.contextOptions = contextOptions;
+    }
+
+    /**
+     * Starts everything the enabled modes need. Anything already started is closed
+     * again if a later step fails, so a failed launch leaves nothing running.
+     */
+    public static BrowserHarness launch(String suiteName, BrowserType.LaunchOptions launchOptions,
+                                        Supplier<Browser.NewContextOptions> contextOptions) {
+        BrowserHarness harness = new BrowserHarness(suiteName, contextOptions);
+        try {
+            harness.start(launchOptions);
+        } catch (RuntimeException e) {
+            harness.close();
+            throw e;
+        }
+        return harness;
+    }
+
+    private void start(BrowserType.LaunchOptions launchOptions) {
+        // Serve the storefront from an embedded stand-in instead of the live site
+        if (LocalStorefront.isEnabled()) {
+            storefront = LocalStorefront.start();
+        }
+
+        // Matrix mode runs every test on Chromium, Firefox and WebKit concurrently
+        if (BrowserMatrix.isEnabled()) {
+            matrix = new BrowserMatrix(suiteName, launchOptions, this::openPage);
+            return;
+        }
+        playwright = Playwright.create();
+
+        // Cache mode reuses one profile whose HTTP disk cache survives between tests and runs
+        if (PersistentCacheProfile.isEnabled()) {
+            cacheProfile = new PersistentCacheProfile(suiteName, playwright.chromium(),
+                    persistentOptions(launchOptions, contextOptions.get()));
+            return;
+        }
+        browser = playwright.chromium().launch(launchOptions);
+    }
+
+    /**
+     * The local storefront, or null when tests run against the live site.
+     */
+    public LocalStorefront storefront() {
+        return storefront;
+    }
+
+    /**
+     * Where tests navigate: the local storefront when it is running, otherwise the live site.
+     */
+    public String baseUrl() {
+        return storefront != null ? storefront.url() : LocalStorefront.STOREFRONT_URL;
+    }
+
+    /**
+     * Opens the page for the next test. In matrix mode each engine opens its own
+     * page inside {@link #run} instead.
+     */
+    public void open(String testName) {
+        this.testName = testName;
+        if (cacheProfile != null) {
+            page = preparePage(cacheProfile.newPage());
+        } else if (browser != null) {
+            page = openPage(browser);
+        }
+    }
+
+    /**
+     * Runs the test body on the current page, or on every engine in matrix mode
+     */
+    public void run(Consumer<Page> test) {
+        if (matrix != null) {
+            matrix.run(testName, test);
+        } else {
+            test.accept(page);
+        }
+    }
+
+    /**
+     * Ends the current test: resets the cache profile or closes the test's context.
+     */
+    public void finish() {
+        if (cacheProfile != null) {
+            cacheProfile.reset();
+        } else if (page != null) {
+            page.context().close();
+        }
+        page = null;
+    }
+
+    private Page openPage(Browser browser) {
+        BrowserContext context = browser.newContext(contextOptions.get());
+        Page page = preparePage(context.newPage());
+
+        // Clear cookies and storage to ensure clean state
+        context.clearCookies();
+        return page;
+    }
+
+    private Page preparePage(Page page) {
+        // Set longer timeout for CI environments
+        page.setDefaultTimeout(60000); // 60 seconds
+        page.setDefaultNavigationTimeout(60000);
+        return page;
+    }
+
+    private static BrowserType.LaunchPersistentContextOptions persistentOptions(
+            BrowserType.LaunchOptions launchOptions, Browser.NewContextOptions contextOptions) {
+        BrowserType.LaunchPersistentContextOptions options = new BrowserType.LaunchPersistentContextOptions();
+        if (launchOptions.headless != null) {
+            options.setHeadless(launchOptions.headless);
+        }
+        if (launchOptions.slowMo != null) {
+            options.setSlowMo(launchOptions.slowMo);
+        }
+        options.recordVideoDir = contextOptions.recordVideoDir;
+        options.recordVideoSize = contextOptions.recordVideoSize;
+        options.viewportSize = contextOptions.viewportSize;
+        return options;
+    }
+
+    @Override
+    public void close() {
+        if (matrix != null) {
+            matrix.close();
+        }
+        if (cacheProfile != null) {
+            cacheProfile.close();
+        }
+        if (browser != null) {
+            browser.close();
+        }
+        if (playwright != null) {
+            playwright.close();
+        }
+        if (storefront != null) {
+            storefront.close();
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package playwrightSupport;
+
+import com.microsoft.playwright.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs each test body against several browser engines at the same time.
+ * Every engine gets its own thread, Playwright instance and browser process,
+ * so total wall time tracks the slowest engine instead of the sum of all of them.
+ *
+ * Enable with -Dbrowser.matrix=true (or BROWSER_MATRIX=true) and optionally
+ * narrow the engines with -Dbrowser.engines=chromium,firefox,webkit
+ */
+public class BrowserMatrix implements AutoCloseable {
+    public static final List<String> DEFAULT_ENGINES = Collections.unmodifiableList(
+            Arrays.asList("chromium", "firefox", "webkit"));
+
+    private final String suiteName;
+    private final Function<Browser, Page> pageFactory;
+    private final Map<String, Engine> engines = new LinkedHashMap<>();
+    private final Timings timings = new Timings();
+
+    public static boolean isEnabled() {
+        String value = System.getProperty("browser.matrix", System.getenv("BROWSER_MATRIX"));
+        return Boolean.parseBoolean(value);
+    }
+
+    public static List<String> engineNames() {
+        String value = System.getProperty("browser.engines", System.getenv("BROWSER_ENGINES"));
+        if (value == null || value.trim().isEmpty()) {
+            return DEFAULT_ENGINES;
+        }
+        List<String> names = new ArrayList<>();
+        for (String name : value.split(",")) {
+            if (!name.trim().isEmpty()) {
+                names.add(name.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Launches one browser per engine in parallel and waits until all of them are up.
+     *
+     * @param pageFactory opens a fresh context and page on the given browser;
+     *                    the page's context is closed after each test
+     */
+    public BrowserMatrix(String suiteName, BrowserType.LaunchOptions launchOptions,
+                         Function<Browser, Page> pageFactory) {
+        this.suiteName = suiteName;
+        this.pageFactory = pageFactory;
+        for (String name : engineNames()) {
+            engines.put(name, new Engine(name));
+        }
+
+        Map<String, Future<?>> launches = new LinkedHashMap<>();
+        for (Engine engine : engines.values()) {
+            launches.put(engine.name, engine.executor.submit(() -> engine.launch(launchOptions)));
+        }
+        for (Map.Entry<String, Future<?>> launch : launches.entrySet()) {
+            try {
+                launch.getValue().get();
+            } catch (Exception e) {
+                close();
+                throw new IllegalStateException("Failed to launch " + launch.getKey(), unwrap(e));
+            }
+        }
+        System.out.println("Browser matrix started: " + String.join(", ", engines.keySet()));
+    }
+
+    /**
+     * Runs the test body on every engine concurrently and fails if any engine failed.
+     */
+    public void run(String testName, Consumer<Page> test) {
+        long start = System.nanoTime();
+        Map<String, Future<Result>> pending = new LinkedHashMap<>();
+        for (Engine engine : engines.values()) {
+            pending.put(engine.name, engine.executor.submit(() -> engine.execute(test)));
+        }
+
+        Map<String, Result> byEngine = new LinkedHashMap<>();
+        for (Map.Entry<String, Future<Result>> entry : pending.entrySet()) {
+            Result result;
+            try {
+                result = entry.getValue().get();
+            } catch (Exception e) {
+                result = new Result(0, unwrap(e));
+            }
+            byEngine.put(entry.getKey(), result);
+        }
+        long wallMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        timings.record(testName, byEngine, wallMillis);
+
+        AssertionError failure = null;
+        for (Map.Entry<String, Result> entry : byEngine.entrySet()) {
+            Result result = entry.getValue();
+            System.out.println(String.format("[%s] %s: %s in %d ms", entry.getKey(), testName,
+                    result.passed() ? "passed" : "FAILED", result.millis));
+            if (!result.passed()) {
+                if (failure == null) {
+                    failure = new AssertionError("[" + entry.getKey() + "] " + result.error, result.error);
+                } else {
+                    failure.addSuppressed(new AssertionError("[" + entry.getKey() + "] " + result.error, result.error));
+                }
+            }
+        }
+        System.out.println(String.format("%s wall time: %d ms", testName, wallMillis));
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Engine engine : engines.values()) {
+            try {
+                engine.executor.submit(engine::shutdown).get();
+            } catch (Exception e) {
+                System.out.println("Failed to close " + engine.name + ": " + unwrap(e));
+            }
+            engine.executor.shutdown();
+        }
+        if (!timings.isEmpty()) {
+            String report = timings.report(suiteName, engines.keySet());
+            System.out.println(report);
+            SuiteReports.write("browser-matrix", suiteName, report);
+        }
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        while ((e instanceof ExecutionException || e instanceof CompletionException) && e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e;
+    }
+
+    /**
+     * Per-test, per-engine results in execution order.
+     */
+    static final class Timings {
+        // test name -> engine name -> result
+        private final Map<String, Map<String, Result>> results = new LinkedHashMap<>();
+        private final Map<String, Long> wallTimes = new LinkedHashMap<>();
+
+        void record(String testName, Map<String, Result> byEngine, long wallMillis) {
+            results.put(testName, byEngine);
+            wallTimes.put(testName, wallMillis);
+        }
+
+        boolean isEmpty() {
+            return results.isEmpty();
+        }
+
+        /**
+         * Builds a per-test, per-engine timing table with totals and the sequential equivalent.
+         */
+        String report(String suiteName, Collection<String> engineNames) {
+            StringBuilder report = new StringBuilder();
+            report.append("=== Browser Matrix Report: ").append(suiteName).append(" ===\n");
+            report.append(String.format("%-45s", "Test"));
+            for (String name : engineNames) {
+                report.append(String.format("%18s", name));
+            }
+            report.append(String.format("%12s%n", "wall"));
+
+            Map<String, Long> engineTotals = new LinkedHashMap<>();
+            Map<String, Integer> engineFailures = new LinkedHashMap<>();
+            long totalWall = 0;
+            for (Map.Entry<String, Map<String, Result>> test : results.entrySet()) {
+                report.append(String.format("%-45s", test.getKey()));
+                for (String name : engineNames) {
+                    Result result = test.getValue().get(name);
+                    report.append(String.format("%18s", result.millis + " ms" + (result.passed() ? "" : " FAIL")));
+                    engineTotals.merge(name, result.millis, Long::sum);
+                    engineFailures.merge(name, result.passed() ? 0 : 1, Integer::sum);
+                }
+                long wall = wallTimes.get(test.getKey());
+                totalWall += wall;
+                report.append(String.format("%12s%n", wall + " ms"));
+            }
+
+            long sequential = 0;
+            report.append(String.format("%-45s", "Total"));
+            for (String name : engineNames) {
+                long total = engineTotals.getOrDefault(name, 0L);
+                sequential += total;
+                report.append(String.format("%18s", total + " ms"));
+            }
+            report.append(String.format("%12s%n", totalWall + " ms"));
+            for (String name : engineNames) {
+                report.append(String.format("  %s: %d failed of %d%n", name, engineFailures.get(name), results.size()));
+            }
+            report.append(String.format("Sequential equivalent: %d ms, concurrent wall time: %d ms%n",
+                    sequential, totalWall));
+            return report.toString();
+        }
+    }
+
+    static final class Result {
+        final long millis;
+        final Throwable error;
+
+        Result(long millis, Throwable error) {
+            this.millis = millis;
+            this.error = error;
+        }
+
+        boolean passed() {
+            return error == null;
+        }
+    }
+
+    /**
+     * Playwright objects are not thread safe, so everything for one engine
+     * is created, used and closed on that engine's single worker thread.
+     */
+    private final class Engine {
+        final String name;
+        final ExecutorService executor;
+        Playwright playwright;
+        Browser browser;
+
+        Engine(String name) {
+            this.name = name;
+            this.executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "playwright-" + name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        void launch(BrowserType.LaunchOptions launchOptions) {
+            playwright = Playwright.create();
+            browser = browserType().launch(launchOptions);
+        }
+
+        BrowserType browserType() {
+            switch (name) {
+                case "chromium":
+                    return playwright.chromium();
+                case "firefox":
+                    return playwright.firefox();
+                case "webkit":
+                    return playwright.webkit();
+                default:
+                    throw new IllegalArgumentException("Unknown browser engine: " + name);
+            }
+        }
+
+        Result execute(Consumer<Page> test) {
+            long start = System.nanoTime();
+            Page page = null;
+            Throwable error = null;
+            try {
+                page = pageFactory.apply(browser);
+                test.accept(page);
+            } catch (Throwable t) {
+                error = t;
+            } finally {
+                if (page != null) {
+                    page.context().close();
+                }
+            }
+            return new Result(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), error);
+        }
+
+        void shutdown() {
+            if (browser != null) {
+                browser.close();
+            }
+            if (playwright != null) {
+                playwright.close();
+            }
+        }
+    }
+}
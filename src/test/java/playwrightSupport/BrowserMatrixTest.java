@@ -0,0 +1,51 @@
+package playwrightSupport;
+
+import org.junit.jupiter.api.*;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the matrix report built from recorded results, without launching browsers
+ */
+public class BrowserMatrixTest {
+
+    @Test
+    @DisplayName("Report totals each engine, counts failures and compares wall time")
+    public void testReport() {
+        BrowserMatrix.Timings timings = new BrowserMatrix.Timings();
+        timings.record("Loads home page", results(
+                new BrowserMatrix.Result(1200, null), new BrowserMatrix.Result(1500, null)), 1550);
+        timings.record("Adds to cart", results(
+                new BrowserMatrix.Result(2000, null), new BrowserMatrix.Result(2500, new AssertionError("boom"))), 2600);
+
+        String report = timings.report("Suite", Arrays.asList("chromium", "firefox"));
+        assertTrue(report.startsWith("=== Browser Matrix Report: Suite ==="), report);
+        assertArrayEquals(new String[]{"Adds", "to", "cart", "2000", "ms", "2500", "ms", "FAIL", "2600", "ms"},
+                line(report, "Adds to cart").split("\\s+"));
+        assertArrayEquals(new String[]{"Total", "3200", "ms", "4000", "ms", "4150", "ms"},
+                line(report, "Total").split("\\s+"));
+        assertTrue(report.contains("  chromium: 0 failed of 2"), report);
+        assertTrue(report.contains("  firefox: 1 failed of 2"), report);
+        assertTrue(report.contains("Sequential equivalent: 7200 ms, concurrent wall time: 4150 ms"), report);
+    }
+
+    private static Map<String, BrowserMatrix.Result> results(BrowserMatrix.Result chromium, BrowserMatrix.Result firefox) {
+        Map<String, BrowserMatrix.Result> byEngine = new LinkedHashMap<>();
+        byEngine.put("chromium", chromium);
+        byEngine.put("firefox", firefox);
+        return byEngine;
+    }
+
+    private static String line(String report, String prefix) {
+        for (String line : report.split("\\R")) {
+            if (line.startsWith(prefix)) {
+                return line.trim();
+            }
+        }
+        return fail("No line starting with " + prefix + " in\n" + report);
+    }
+}
@@ -0,0 +1,607 @@
+package playwrightSupport;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Hashes the bytecode a test method depends on: its own body, every method of the
+ * test class or its project superclasses it reaches (helpers and lambda bodies,
+ * transitively), constructors and field initializers, inherited lifecycle methods,
+ * the annotations on those methods and classes, and the full bytecode of every
+ * other project class those touch.
+ *
+ * Constant pool references are resolved to their symbolic names before hashing,
+ * so editing an unrelated method does not change another method's fingerprint.
+ */
+final class BytecodeFingerprint {
+    private static final Set<String> LIFECYCLE_ANNOTATIONS = new HashSet<>(Arrays.asList(
+            "org.junit.jupiter.api.BeforeAll", "org.junit.jupiter.api.BeforeEach",
+            "org.junit.jupiter.api.AfterEach", "org.junit.jupiter.api.AfterAll"));
+
+    private BytecodeFingerprint() {
+    }
+
+    static String of(Class<?> testClass, String methodName) {
+        try {
+            Hierarchy hierarchy = Hierarchy.of(testClass);
+            MessageDigest digest = sha256();
+            Set<String> projectClasses = new TreeSet<>();
+            // Class annotations such as @Timeout or @ExtendWith change how every test runs
+            for (ClassFile classFile : hierarchy.classes) {
+                digest.update(classFile.annotations.getBytes(StandardCharsets.UTF_8));
+            }
+
+            // Constructors and static initializers run field initializers before every test
+            List<String> roots = new ArrayList<>();
+            roots.add(methodName);
+            roots.add("<init>");
+            roots.add("<clinit>");
+            roots.addAll(lifecycleMethods(testClass));
+            Set<String> visited = new HashSet<>();
+            for (String root : roots) {
+                for (ClassFile classFile : hierarchy.classes) {
+                    for (MethodInfo method : classFile.methodsNamed(root)) {
+                        hashMethod(hierarchy, method, visited, digest, projectClasses);
+                    }
+                }
+            }
+
+            // Referenced project classes are hashed whole, following their own references
+            Set<String> hashed = new HashSet<>();
+            Deque<String> pending = new ArrayDeque<>(projectClasses);
+            while (!pending.isEmpty()) {
+                String name = pending.poll();
+                if (hierarchy.contains(name) || !isProjectClass(testClass.getClassLoader(), name)
+                        || !hashed.add(name)) {
+                    continue;
+                }
+                byte[] bytes = readClass(testClass.getClassLoader(), name);
+                digest.update(name.getBytes(StandardCharsets.UTF_8));
+                digest.update(bytes);
+                pending.addAll(ClassFile.parse(bytes).classReferences());
+            }
+            return hex(digest.digest());
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read bytecode of " + testClass.getName(), e);
+        }
+    }
+
+    static String sha256Hex(byte[] bytes) {
+        return hex(sha256().digest(bytes));
+    }
+
+    private static void hashMethod(Hierarchy hierarchy, MethodInfo method, Set<String> visited,
+                                   MessageDigest digest, Set<String> projectClasses) {
+        if (!visited.add(method.declaringClass.name + "." + method.name + method.descriptor)) {
+            return;
+        }
+        // Lambda method names carry a class-wide counter, so only their bodies count
+        String name = method.name.startsWith("lambda$") ? "lambda" : method.name;
+        digest.update((name + method.descriptor + "\n" + method.annotations).getBytes(StandardCharsets.UTF_8));
+        List<MethodInfo> callees = new ArrayList<>();
+        digest.update(method.declaringClass.normalizedCode(method, hierarchy, callees, projectClasses)
+                .getBytes(StandardCharsets.UTF_8));
+        for (MethodInfo callee : callees) {
+            hashMethod(hierarchy, callee, visited, digest, projectClasses);
+        }
+    }
+
+    private static Set<String> lifecycleMethods(Class<?> testClass) {
+        Set<String> names = new TreeSet<>();
+        for (Class<?> type = testClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Method method : type.getDeclaredMethods()) {
+                for (Annotation annotation : method.getAnnotations()) {
+                    if (LIFECYCLE_ANNOTATIONS.contains(annotation.annotationType().getName())) {
+                        names.add(method.getName());
+                    }
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Classes compiled from this project live in plain directories; JDK and
+     * dependency classes come from jrt: or jar: URLs.
+     */
+    static boolean isProjectClass(ClassLoader loader, String internalName) {
+        URL resource = loader.getResource(internalName + ".class");
+        return resource != null && "file".equals(resource.getProtocol());
+    }
+
+    private static byte[] readClass(ClassLoader loader, String internalName) throws IOException {
+        try (InputStream in = loader.getResourceAsStream(internalName + ".class")) {
+            if (in == null) {
+                throw new IOException("Class file not found: " + internalName);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * The test class followed by its superclasses that were compiled from this project.
+     * Their methods are walked one by one like the test class's own, instead of being
+     * hashed whole like other project classes.
+     */
+    private static final class Hierarchy {
+        final List<ClassFile> classes = new ArrayList<>();
+
+        static Hierarchy of(Class<?> testClass) throws IOException {
+            Hierarchy hierarchy = new Hierarchy();
+            ClassLoader loader = testClass.getClassLoader();
+            for (Class<?> type = testClass; type != null
+                    && isProjectClass(loader, type.getName().replace('.', '/')); type = type.getSuperclass()) {
+                hierarchy.classes.add(ClassFile.read(type));
+            }
+            return hierarchy;
+        }
+
+        boolean contains(String internalName) {
+            for (ClassFile classFile : classes) {
+                if (classFile.name.equals(internalName)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Every definition along the chain: a call through this may dispatch to an
+         * override, and an inherited call resolves to a superclass.
+         */
+        List<MethodInfo> resolve(String methodName, String descriptor) {
+            List<MethodInfo> definitions = new ArrayList<>();
+            for (ClassFile classFile : classes) {
+                MethodInfo method = classFile.method(methodName, descriptor);
+                if (method != null) {
+                    definitions.add(method);
+                }
+            }
+            return definitions;
+        }
+    }
+
+    private static final class MethodInfo {
+        final ClassFile declaringClass;
+        final String name;
+        final String descriptor;
+        final String annotations;
+        final byte[] code;
+        final int[] exceptionCatchTypes;
+
+        MethodInfo(ClassFile declaringClass, String name, String descriptor, String annotations,
+                   byte[] code, int[] exceptionCatchTypes) {
+            this.declaringClass = declaringClass;
+            this.name = name;
+            this.descriptor = descriptor;
+            this.annotations = annotations;
+            this.code = code;
+            this.exceptionCatchTypes = exceptionCatchTypes;
+        }
+    }
+
+    /**
+     * Just enough of the JVM class file format to walk method bodies.
+     */
+    private static final class ClassFile {
+        private static final int UTF8 = 1, INTEGER = 3, FLOAT = 4, LONG = 5, DOUBLE = 6, CLASS = 7, STRING = 8,
+                FIELD_REF = 9, METHOD_REF = 10, INTERFACE_METHOD_REF = 11, NAME_AND_TYPE = 12,
+                METHOD_HANDLE = 15, METHOD_TYPE = 16, DYNAMIC = 17, INVOKE_DYNAMIC = 18, MODULE = 19, PACKAGE = 20;
+
+        final int[] tags;
+        final Object[] values;
+        final String name;
+        final String annotations;
+        final List<MethodInfo> methods = new ArrayList<>();
+        final List<int[]> bootstrapMethods = new ArrayList<>();
+
+        static ClassFile read(Class<?> type) throws IOException {
+            return parse(readClass(type.getClassLoader(), type.getName().replace('.', '/')));
+        }
+
+        static ClassFile parse(byte[] bytes) throws IOException {
+            return new ClassFile(new DataInputStream(new ByteArrayInputStream(bytes)));
+        }
+
+        private ClassFile(DataInputStream in) throws IOException {
+            in.readInt(); // magic
+            in.readUnsignedShort(); // minor
+            in.readUnsignedShort(); // major
+            int count = in.readUnsignedShort();
+            tags = new int[count];
+            values = new Object[count];
+            for (int i = 1; i < count; i++) {
+                tags[i] = in.readUnsignedByte();
+                switch (tags[i]) {
+                    case UTF8:
+                        values[i] = in.readUTF();
+                        break;
+                    case INTEGER:
+                        values[i] = in.readInt();
+                        break;
+                    case FLOAT:
+                        values[i] = in.readFloat();
+                        break;
+                    case LONG:
+                        values[i] = in.readLong();
+                        i++;
+                        break;
+                    case DOUBLE:
+                        values[i] = in.readDouble();
+                        i++;
+                        break;
+                    case CLASS:
+                    case STRING:
+                    case METHOD_TYPE:
+                    case MODULE:
+                    case PACKAGE:
+                        values[i] = new int[]{in.readUnsignedShort()};
+                        break;
+                    case METHOD_HANDLE:
+                        values[i] = new int[]{in.readUnsignedByte(), in.readUnsignedShort()};
+                        break;
+                    case FIELD_REF:
+                    case METHOD_REF:
+                    case INTERFACE_METHOD_REF:
+                    case NAME_AND_TYPE:
+                    case DYNAMIC:
+                    case INVOKE_DYNAMIC:
+                        values[i] = new int[]{in.readUnsignedShort(), in.readUnsignedShort()};
+                        break;
+                    default:
+                        throw new IOException("Unknown constant pool tag " + tags[i]);
+                }
+            }
+            in.readUnsignedShort(); // access flags
+            name = className(in.readUnsignedShort());
+            in.readUnsignedShort(); // super class
+            in.skipBytes(2 * in.readUnsignedShort()); // interfaces
+
+            int fields = in.readUnsignedShort();
+            for (int i = 0; i < fields; i++) {
+                in.skipBytes(6);
+                skipAttributes(in);
+            }
+
+            int methodCount = in.readUnsignedShort();
+            for (int i = 0; i < methodCount; i++) {
+                in.readUnsignedShort(); // access flags
+                String methodName = utf8(in.readUnsignedShort());
+                String descriptor = utf8(in.readUnsignedShort());
+                String methodAnnotations = "";
+                byte[] code = new byte[0];
+                int[] catchTypes = new int[0];
+                int attributes = in.readUnsignedShort();
+                for (int a = 0; a < attributes; a++) {
+                    String attribute = utf8(in.readUnsignedShort());
+                    int length = in.readInt();
+                    if (attribute.equals("RuntimeVisibleAnnotations")) {
+                        methodAnnotations = readAnnotations(in);
+                        continue;
+                    }
+                    if (!attribute.equals("Code")) {
+                        in.skipBytes(length);
+                        continue;
+                    }
+                    in.skipBytes(4); // max stack, max locals
+                    code = new byte[in.readInt()];
+                    in.readFully(code);
+                    catchTypes = new int[in.readUnsignedShort()];
+                    for (int e = 0; e < catchTypes.length; e++) {
+                        in.skipBytes(6);
+                        catchTypes[e] = in.readUnsignedShort();
+                    }
+                    skipAttributes(in); // line numbers and local variables do not affect behaviour
+                }
+                methods.add(new MethodInfo(this, methodName, descriptor, methodAnnotations, code, catchTypes));
+            }
+
+            String classAnnotations = "";
+            int attributes = in.readUnsignedShort();
+            for (int a = 0; a < attributes; a++) {
+                String attribute = utf8(in.readUnsignedShort());
+                int length = in.readInt();
+                if (attribute.equals("RuntimeVisibleAnnotations")) {
+                    classAnnotations = readAnnotations(in);
+                    continue;
+                }
+                if (!attribute.equals("BootstrapMethods")) {
+                    in.skipBytes(length);
+                    continue;
+                }
+                int bootstrapCount = in.readUnsignedShort();
+                for (int b = 0; b < bootstrapCount; b++) {
+                    int handle = in.readUnsignedShort();
+                    int[] entry = new int[in.readUnsignedShort() + 1];
+                    entry[0] = handle;
+                    for (int arg = 1; arg < entry.length; arg++) {
+                        entry[arg] = in.readUnsignedShort();
+                    }
+                    bootstrapMethods.add(entry);
+                }
+            }
+            annotations = classAnnotations;
+        }
+
+        /**
+         * Renders a RuntimeVisibleAnnotations attribute with its constants resolved,
+         * e.g. @Lorg/junit/jupiter/api/Timeout;(value=60, unit=Ljava/util/concurrent/TimeUnit;.SECONDS)
+         */
+        private String readAnnotations(DataInputStream in) throws IOException {
+            StringBuilder out = new StringBuilder();
+            int count = in.readUnsignedShort();
+            for (int i = 0; i < count; i++) {
+                readAnnotation(in, out);
+                out.append('\n');
+            }
+            return out.toString();
+        }
+
+        private void readAnnotation(DataInputStream in, StringBuilder out) throws IOException {
+            out.append('@').append(utf8(in.readUnsignedShort())).append('(');
+            int pairs = in.readUnsignedShort();
+            for (int p = 0; p < pairs; p++) {
+                out.append(p == 0 ? "" : ", ").append(utf8(in.readUnsignedShort())).append('=');
+                readElementValue(in, out);
+            }
+            out.append(')');
+        }
+
+        private void readElementValue(DataInputStream in, StringBuilder out) throws IOException {
+            char tag = (char) in.readUnsignedByte();
+            switch (tag) {
+                case 'e': // enum constant
+                    out.append(utf8(in.readUnsignedShort())).append('.').append(utf8(in.readUnsignedShort()));
+                    break;
+                case 'c': // class literal
+                    out.append(utf8(in.readUnsignedShort())).append(".class");
+                    break;
+                case '@':
+                    readAnnotation(in, out);
+                    break;
+                case '[': {
+                    int count = in.readUnsignedShort();
+                    out.append('{');
+                    for (int i = 0; i < count; i++) {
+                        out.append(i == 0 ? "" : ", ");
+                        readElementValue(in, out);
+                    }
+                    out.append('}');
+                    break;
+                }
+                default: // primitives and strings point straight at their constant
+                    out.append(tag).append(values[in.readUnsignedShort()]);
+            }
+        }
+
+        List<MethodInfo> methodsNamed(String methodName) {
+            List<MethodInfo> matches = new ArrayList<>();
+            for (MethodInfo method : methods) {
+                if (method.name.equals(methodName)) {
+                    matches.add(method);
+                }
+            }
+            return matches;
+        }
+
+        MethodInfo method(String methodName, String descriptor) {
+            for (MethodInfo method : methods) {
+                if (method.name.equals(methodName) && method.descriptor.equals(descriptor)) {
+                    return method;
+                }
+            }
+            return null;
+        }
+
+        Set<String> classReferences() {
+            Set<String> references = new TreeSet<>();
+            for (int i = 1; i < tags.length; i++) {
+                if (tags[i] == CLASS) {
+                    String reference = className(i);
+                    // Array descriptors like [Lfoo/Bar; reference their element class
+                    if (reference.startsWith("[")) {
+                        int start = reference.indexOf('L');
+                        if (start < 0) {
+                            continue;
+                        }
+                        reference = reference.substring(start + 1, reference.length() - 1);
+                    }
+                    references.add(reference);
+                }
+            }
+            return references;
+        }
+
+        /**
+         * Renders the method body with symbolic operands. Methods of the hierarchy it invokes
+         * or captures as lambdas are added to callees; other project classes to classes.
+         */
+        String normalizedCode(MethodInfo method, Hierarchy hierarchy, List<MethodInfo> callees, Set<String> classes) {
+            StringBuilder out = new StringBuilder();
+            byte[] code = method.code;
+            int pc = 0;
+            while (pc < code.length) {
+                int opcode = code[pc] & 0xff;
+                out.append(opcode);
+                int next;
+                switch (opcode) {
+                    case 0x12: // ldc
+                        out.append(' ').append(constant(code[pc + 1] & 0xff, hierarchy, callees, classes));
+                        next = pc + 2;
+                        break;
+                    case 0x13: case 0x14: // ldc_w, ldc2_w
+                    case 0xb2: case 0xb3: case 0xb4: case 0xb5: // field access
+                    case 0xb6: case 0xb7: case 0xb8: // invokevirtual, invokespecial, invokestatic
+                    case 0xbb: case 0xbd: case 0xc0: case 0xc1: // new, anewarray, checkcast, instanceof
+                        out.append(' ').append(constant(u2(code, pc + 1), hierarchy, callees, classes));
+                        next = pc + 3;
+                        break;
+                    case 0xb9: // invokeinterface
+                    case 0xba: // invokedynamic
+                        out.append(' ').append(constant(u2(code, pc + 1), hierarchy, callees, classes));
+                        next = pc + 5;
+                        break;
+                    case 0xc5: // multianewarray
+                        out.append(' ').append(constant(u2(code, pc + 1), hierarchy, callees, classes))
+                                .append(' ').append(code[pc + 3] & 0xff);
+                        next = pc + 4;
+                        break;
+                    case 0xaa: { // tableswitch
+                        int base = (pc + 4) & ~3;
+                        int low = s4(code, base + 4);
+                        int high = s4(code, base + 8);
+                        next = base + 12 + 4 * (high - low + 1);
+                        appendRaw(out, code, pc + 1, next);
+                        break;
+                    }
+                    case 0xab: { // lookupswitch
+                        int base = (pc + 4) & ~3;
+                        next = base + 8 + 8 * s4(code, base + 4);
+                        appendRaw(out, code, pc + 1, next);
+                        break;
+                    }
+                    case 0xc4: // wide
+                        next = pc + ((code[pc + 1] & 0xff) == 0x84 ? 6 : 4);
+                        appendRaw(out, code, pc + 1, next);
+                        break;
+                    default:
+                        next = pc + 1 + operandLength(opcode);
+                        appendRaw(out, code, pc + 1, next);
+                }
+                out.append('\n');
+                pc = next;
+            }
+            for (int catchType : method.exceptionCatchTypes) {
+                out.append("catch ").append(catchType == 0 ? "any" : constant(catchType, hierarchy, callees, classes)).append('\n');
+            }
+            return out.toString();
+        }
+
+        private static int operandLength(int opcode) {
+            if (opcode == 0x10 || opcode == 0xa9 || opcode == 0xbc) { // bipush, ret, newarray
+                return 1;
+            }
+            if ((opcode >= 0x15 && opcode <= 0x19) || (opcode >= 0x36 && opcode <= 0x3a)) { // load, store
+                return 1;
+            }
+            if (opcode == 0x11 || opcode == 0x84 || (opcode >= 0x99 && opcode <= 0xa8)
+                    || opcode == 0xc6 || opcode == 0xc7) { // sipush, iinc, branches, ifnull, ifnonnull
+                return 2;
+            }
+            if (opcode == 0xc8 || opcode == 0xc9) { // goto_w, jsr_w
+                return 4;
+            }
+            return 0;
+        }
+
+        private String constant(int index, Hierarchy hierarchy, List<MethodInfo> callees, Set<String> classes) {
+            int[] refs = values[index] instanceof int[] ? (int[]) values[index] : null;
+            switch (tags[index]) {
+                case CLASS:
+                    return "class " + owner(className(index), hierarchy, classes);
+                case STRING:
+                    return "\"" + utf8(refs[0]) + "\"";
+                case FIELD_REF:
+                case METHOD_REF:
+                case INTERFACE_METHOD_REF: {
+                    String ownerName = className(refs[0]);
+                    int[] nameAndType = (int[]) values[refs[1]];
+                    String memberName = utf8(nameAndType[0]);
+                    String descriptor = utf8(nameAndType[1]);
+                    if (tags[index] != FIELD_REF && hierarchy.contains(ownerName)) {
+                        callees.addAll(hierarchy.resolve(memberName, descriptor));
+                    }
+                    return owner(ownerName, hierarchy, classes) + "." + memberName + descriptor;
+                }
+                case METHOD_HANDLE:
+                    return "handle " + refs[0] + " " + constant(refs[1], hierarchy, callees, classes);
+                case METHOD_TYPE:
+                    return "type " + utf8(refs[0]);
+                case DYNAMIC:
+                case INVOKE_DYNAMIC: {
+                    int[] bootstrap = bootstrapMethods.get(refs[0]);
+                    int[] nameAndType = (int[]) values[refs[1]];
+                    StringBuilder out = new StringBuilder("indy ").append(constant(bootstrap[0], hierarchy, callees, classes));
+                    for (int arg = 1; arg < bootstrap.length; arg++) {
+                        out.append(" [").append(constant(bootstrap[arg], hierarchy, callees, classes)).append(']');
+                    }
+                    return out.append(' ').append(utf8(nameAndType[0])).append(utf8(nameAndType[1])).toString()
+                            .replaceAll("lambda\\$[\\w$]+", "lambda");
+                }
+                default:
+                    return String.valueOf(values[index]);
+            }
+        }
+
+        private String owner(String ownerName, Hierarchy hierarchy, Set<String> classes) {
+            if (hierarchy.contains(ownerName)) {
+                return "this";
+            }
+            classes.add(ownerName);
+            return ownerName;
+        }
+
+        private String className(int index) {
+            return utf8(((int[]) values[index])[0]);
+        }
+
+        private String utf8(int index) {
+            return (String) values[index];
+        }
+
+        private static void skipAttributes(DataInputStream in) throws IOException {
+            int count = in.readUnsignedShort();
+            for (int i = 0; i < count; i++) {
+                in.skipBytes(2);
+                in.skipBytes(in.readInt());
+            }
+        }
+
+        private static void appendRaw(StringBuilder out, byte[] code, int from, int to) {
+            for (int i = from; i < to; i++) {
+                out.append(' ').append(code[i]);
+            }
+        }
+
+        private static int u2(byte[] code, int offset) {
+            return ((code[offset] & 0xff) << 8) | (code[offset + 1] & 0xff);
+        }
+
+        private static int s4(byte[] code, int offset) {
+            return (code[offset] << 24) | ((code[offset + 1] & 0xff) << 16)
+                    | ((code[offset + 2] & 0xff) << 8) | (code[offset + 3] & 0xff);
+        }
+    }
+}
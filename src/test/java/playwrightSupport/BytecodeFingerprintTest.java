@@ -0,0 +1,285 @@
+package playwrightSupport;
+
+import org.junit.jupiter.api.*;
+import playwrightTraditional.DePaulBookstoreTest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that fingerprints follow a test's real dependencies and nothing else
+ */
+public class BytecodeFingerprintTest {
+
+    @Test
+    @DisplayName("Editing an unrelated method keeps the fingerprint")
+    public void testUnrelatedChange() {
+        assertEquals(BytecodeFingerprint.of(Original.class, "test"),
+                BytecodeFingerprint.of(UnrelatedChange.class, "test"));
+    }
+
+    @Test
+    @DisplayName("Editing a called helper changes the fingerprint")
+    public void testHelperChange() {
+        assertNotEquals(BytecodeFingerprint.of(Original.class, "test"),
+                BytecodeFingerprint.of(HelperChange.class, "test"));
+    }
+
+    @Test
+    @DisplayName("Lambda bodies count, lambda numbering does not")
+    public void testLambdas() {
+        String original = BytecodeFingerprint.of(LambdaOriginal.class, "test");
+        assertEquals(original, BytecodeFingerprint.of(LambdaShifted.class, "test"));
+        assertNotEquals(original, BytecodeFingerprint.of(LambdaChanged.class, "test"));
+    }
+
+    @Test
+    @DisplayName("Field initializers count")
+    public void testFieldInitializers() {
+        String original = BytecodeFingerprint.of(FieldOriginal.class, "test");
+        assertNotEquals(original, BytecodeFingerprint.of(FieldChanged.class, "test"));
+        assertNotEquals(original, BytecodeFingerprint.of(StaticFieldChanged.class, "test"));
+    }
+
+    @Test
+    @DisplayName("Inherited helpers and lifecycle methods count")
+    public void testInheritance() {
+        String original = BytecodeFingerprint.of(InheritedOriginal.class, "test");
+        assertEquals(original, BytecodeFingerprint.of(InheritedUnrelatedChange.class, "test"));
+        assertNotEquals(original, BytecodeFingerprint.of(InheritedHelperChange.class, "test"));
+        assertNotEquals(original, BytecodeFingerprint.of(InheritedSetUpChange.class, "test"));
+    }
+
+    @Test
+    @DisplayName("Method and class annotations count")
+    public void testAnnotations() {
+        String original = BytecodeFingerprint.of(AnnotatedOriginal.class, "test");
+        assertNotEquals(original, BytecodeFingerprint.of(AnnotatedMethodChange.class, "test"));
+        assertNotEquals(original, BytecodeFingerprint.of(AnnotatedClassChange.class, "test"));
+    }
+
+    @Test
+    @DisplayName("Each UI test has its own fingerprint")
+    public void testUiTestFingerprints() {
+        String accessibility = BytecodeFingerprint.of(DePaulBookstoreTest.class, "testWebsiteAccessibility");
+        assertEquals(accessibility, BytecodeFingerprint.of(DePaulBookstoreTest.class, "testWebsiteAccessibility"));
+        assertNotEquals(accessibility, BytecodeFingerprint.of(DePaulBookstoreTest.class, "testNavigationFunctionality"));
+    }
+
+    static class Original {
+        void test() {
+            helper();
+        }
+
+        void helper() {
+            System.out.println("helper");
+        }
+
+        void unrelated() {
+            System.out.println("unrelated");
+        }
+    }
+
+    static class UnrelatedChange {
+        void test() {
+            helper();
+        }
+
+        void helper() {
+            System.out.println("helper");
+        }
+
+        void unrelated() {
+            System.out.println("unrelated changed");
+        }
+    }
+
+    static class HelperChange {
+        void test() {
+            helper();
+        }
+
+        void helper() {
+            System.out.println("helper changed");
+        }
+
+        void unrelated() {
+            System.out.println("unrelated");
+        }
+    }
+
+    static class FieldOriginal {
+        private static final List<String> NAMES = Arrays.asList("original");
+        private String greeting = "hello";
+
+        void test() {
+            System.out.println(greeting + NAMES);
+        }
+    }
+
+    static class FieldChanged {
+        private static final List<String> NAMES = Arrays.asList("original");
+        private String greeting = "changed";
+
+        void test() {
+            System.out.println(greeting + NAMES);
+        }
+    }
+
+    static class StaticFieldChanged {
+        private static final List<String> NAMES = Arrays.asList("changed");
+        private String greeting = "hello";
+
+        void test() {
+            System.out.println(greeting + NAMES);
+        }
+    }
+
+    static class Base {
+        @BeforeEach
+        void setUp() {
+            System.out.println("set up");
+        }
+
+        void helper() {
+            System.out.println("helper");
+        }
+
+        void unrelated() {
+            System.out.println("unrelated");
+        }
+    }
+
+    static class BaseUnrelatedChange {
+        @BeforeEach
+        void setUp() {
+            System.out.println("set up");
+        }
+
+        void helper() {
+            System.out.println("helper");
+        }
+
+        void unrelated() {
+            System.out.println("unrelated changed");
+        }
+    }
+
+    static class BaseHelperChange {
+        @BeforeEach
+        void setUp() {
+            System.out.println("set up");
+        }
+
+        void helper() {
+            System.out.println("helper changed");
+        }
+
+        void unrelated() {
+            System.out.println("unrelated");
+        }
+    }
+
+    static class BaseSetUpChange {
+        @BeforeEach
+        void setUp() {
+            System.out.println("set up changed");
+        }
+
+        void helper() {
+            System.out.println("helper");
+        }
+
+        void unrelated() {
+            System.out.println("unrelated");
+        }
+    }
+
+    static class InheritedOriginal extends Base {
+        void test() {
+            helper();
+        }
+    }
+
+    static class InheritedUnrelatedChange extends BaseUnrelatedChange {
+        void test() {
+            helper();
+        }
+    }
+
+    static class InheritedHelperChange extends BaseHelperChange {
+        void test() {
+            helper();
+        }
+    }
+
+    static class InheritedSetUpChange extends BaseSetUpChange {
+        void test() {
+            helper();
+        }
+    }
+
+    @Tag("ui")
+    static class AnnotatedOriginal {
+        @Timeout(60)
+        @DisplayName("original")
+        void test() {
+            System.out.println("body");
+        }
+    }
+
+    @Tag("ui")
+    static class AnnotatedMethodChange {
+        @Timeout(value = 1, unit = TimeUnit.MILLISECONDS)
+        @DisplayName("changed")
+        void test() {
+            System.out.println("body");
+        }
+    }
+
+    @Tag("slow")
+    static class AnnotatedClassChange {
+        @Timeout(60)
+        @DisplayName("original")
+        void test() {
+            System.out.println("body");
+        }
+    }
+
+    static class LambdaOriginal {
+        void test() {
+            run(() -> System.out.println("body"));
+        }
+
+        void run(Runnable runnable) {
+            runnable.run();
+        }
+    }
+
+    static class LambdaShifted {
+        void other() {
+            run(() -> System.out.println("declared first"));
+        }
+
+        void test() {
+            run(() -> System.out.println("body"));
+        }
+
+        void run(Runnable runnable) {
+            runnable.run();
+        }
+    }
+
+    static class LambdaChanged {
+        void test() {
+            run(() -> System.out.println("changed body"));
+        }
+
+        void run(Runnable runnable) {
+            runnable.run();
+        }
+    }
+}
@@ -0,0 +1,566 @@
+package playwrightSupport;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded stand-in for depaul.bncollege.com covering the purchase pathway:
+ * search with facets, product pages, a real per-session cart, promo validation,
+ * guest checkout and Chicago sales tax. Pages keep the DOM hooks the suites select on.
+ *
+ * Tests point the browser at {@link #url()} instead of {@link #STOREFRONT_URL}, so no
+ * network is needed and every request reaches this server directly. Per-endpoint latency,
+ * error responses and throttled bodies can be injected with {@link #delay}, {@link #fail}
+ * and {@link #throttle}; each request is handled on its own thread, so a delayed endpoint
+ * never holds up the others.
+ *
+ * Enable in the UI suites with -Dstorefront=local (or STOREFRONT=local)
+ */
+public class LocalStorefront implements AutoCloseable {
+    public static final String STOREFRONT_URL = "https://depaul.bncollege.com";
+    static final String SESSION_COOKIE = "storefront_sid";
+
+    static final BigDecimal HANDLING = new BigDecimal("2.00");
+    static final BigDecimal SHIPPING = new BigDecimal("7.99");
+    // Chicago combined sales tax, applied to merchandise plus handling and shipping
+    static final BigDecimal TAX_RATE = new BigDecimal("0.1025");
+    // Promo code -> percentage off the subtotal
+    static final Map<String, BigDecimal> PROMO_CODES = Collections.singletonMap("DEPAUL10", new BigDecimal("0.10"));
+
+    static final List<Product> CATALOG = Collections.unmodifiableList(Arrays.asList(
+            new Product("jbl-quantum-tws-black", "JBL Quantum True Wireless Noise Cancelling Gaming Earbuds- Black",
+                    "JBL", "Black", "149.98", "earbuds", "202424963",
+                    "Low latency 2.4GHz wireless gaming earbuds with active noise cancelling and up to 24 hours of battery life."),
+            new Product("jbl-tune-buds-white", "JBL Tune Buds True Wireless Earbuds- White",
+                    "JBL", "White", "99.95", "earbuds", "202424971",
+                    "JBL Pure Bass sound with four microphones for clear calls."),
+            new Product("skullcandy-dime-black", "Skullcandy Dime 3 True Wireless Earbuds- Black",
+                    "Skullcandy", "Black", "24.99", "earbuds", "202431187",
+                    "Pocket sized earbuds with 20 hours of total battery life."),
+            new Product("apple-airpods-3", "Apple AirPods (3rd Generation)",
+                    "Apple", "White", "169.00", "earbuds", "202398012",
+                    "Spatial audio with dynamic head tracking and a Lightning charging case."),
+            new Product("blue-demons-hoodie", "DePaul Blue Demons Hooded Sweatshirt- Navy",
+                    "Champion", "Navy", "54.99", "apparel", "202377406",
+                    "Heavyweight fleece hoodie with the DePaul Blue Demons logo."),
+            new Product("intro-to-algorithms-4e", "Introduction to Algorithms, 4th Edition",
+                    "MIT Press", "Multi", "135.00", "textbooks", "202301554",
+                    "Cormen, Leiserson, Rivest and Stein. Hardcover.")));
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Long> latencies = new ConcurrentHashMap<>();
+    private final Map<String, Integer> failures = new ConcurrentHashMap<>();
+    private final Map<String, Integer> throttles = new ConcurrentHashMap<>();
+
+    public static boolean isEnabled() {
+        String value = System.getProperty("storefront", System.getenv("STOREFRONT"));
+        return "local".equalsIgnoreCase(value);
+    }
+
+    /**
+     * Starts the storefront on a free loopback port.
+     */
+    public static LocalStorefront start() {
+        try {
+            return new LocalStorefront();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start local storefront", e);
+        }
+    }
+
+    private LocalStorefront() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        // One thread per request so an injected delay only holds up its own response
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "local-storefront");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        System.out.println("Local storefront listening on " + url());
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Delays every response whose path starts with the prefix.
+     */
+    public LocalStorefront delay(String pathPrefix, long millis) {
+        latencies.put(pathPrefix, millis);
+        return this;
+    }
+
+    /**
+     * Answers every request whose path starts with the prefix with the given status.
+     */
+    public LocalStorefront fail(String pathPrefix, int status) {
+        failures.put(pathPrefix, status);
+        return this;
+    }
+
+    /**
+     * Streams response bodies whose path starts with the prefix at the given rate.
+     */
+    public LocalStorefront throttle(String pathPrefix, int bytesPerSecond) {
+        throttles.put(pathPrefix, bytesPerSecond);
+        return this;
+    }
+
+    public void clearFaults() {
+        latencies.clear();
+        failures.clear();
+        throttles.clear();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    // Server side
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            Long latency = matchPrefix(latencies, path);
+            if (latency != null) {
+                Thread.sleep(latency);
+            }
+            Integer failure = matchPrefix(failures, path);
+            Response response = failure != null
+                    ? Response.html(failure, StorefrontPages.error(failure))
+                    : dispatch(exchange);
+            send(exchange, response, matchPrefix(throttles, path));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            send(exchange, Response.html(500, StorefrontPages.error(500)), null);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Response dispatch(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        Map<String, String> query = parseForm(exchange.getRequestURI().getRawQuery());
+
+        if (path.equals("/static/storefront.css")) {
+            return Response.asset("text/css", StorefrontPages.STYLESHEET);
+        }
+        if (path.equals("/static/storefront.js")) {
+            return Response.asset("application/javascript", StorefrontPages.SCRIPT);
+        }
+
+        Session session = session(exchange);
+        synchronized (session) {
+            Response response = "POST".equals(method)
+                    ? post(path, parseForm(new String(readAll(exchange.getRequestBody()), StandardCharsets.UTF_8)), session)
+                    : get(path, query, session);
+            if (session.isNew) {
+                response.headers.put("Set-Cookie", SESSION_COOKIE + "=" + session.id + "; Path=/; HttpOnly");
+                session.isNew = false;
+            }
+            return response;
+        }
+    }
+
+    private Response get(String path, Map<String, String> query, Session session) {
+        if (path.equals("/")) {
+            return Response.html(200, StorefrontPages.home(session));
+        }
+        if (path.equals("/search")) {
+            String keyword = query.getOrDefault("keyword", "");
+            return Response.html(200, StorefrontPages.search(session, keyword, search(keyword)));
+        }
+        if (path.startsWith("/product/")) {
+            Product product = product(path.substring("/product/".length()));
+            return product == null
+                    ? Response.html(404, StorefrontPages.error(404))
+                    : Response.html(200, StorefrontPages.product(session, product));
+        }
+        if (path.equals("/cart")) {
+            Response response = Response.html(200, StorefrontPages.cart(session, totals(session)));
+            session.flash = null;
+            return response;
+        }
+        if (path.equals("/checkout")) {
+            return session.cart.isEmpty()
+                    ? Response.redirect("/cart")
+                    : Response.html(200, StorefrontPages.createAccount(session));
+        }
+        if (path.equals("/checkout/contact")) {
+            return !session.guest
+                    ? Response.redirect("/checkout")
+                    : Response.html(200, StorefrontPages.contact(session, totals(session), null));
+        }
+        if (path.equals("/checkout/pickup")) {
+            return session.contact.isEmpty()
+                    ? Response.redirect("/checkout/contact")
+                    : Response.html(200, StorefrontPages.pickup(session, totals(session)));
+        }
+        if (path.equals("/checkout/payment")) {
+            return !session.pickupConfirmed
+                    ? Response.redirect("/checkout/pickup")
+                    : Response.html(200, StorefrontPages.payment(session, totals(session)));
+        }
+        return Response.html(404, StorefrontPages.error(404));
+    }
+
+    private Response post(String path, Map<String, String> form, Session session) {
+        Product product = product(form.get("productId"));
+        switch (path) {
+            case "/cart/add":
+                if (product == null) {
+                    return Response.html(404, StorefrontPages.error(404));
+                }
+                session.cart.merge(product.id, 1, Integer::sum);
+                return Response.redirect("/product/" + product.id);
+            case "/cart/update":
+                if (product != null) {
+                    int quantity = parseQuantity(form.get("quantity"));
+                    if (quantity > 0) {
+                        session.cart.put(product.id, quantity);
+                    } else {
+                        session.removeItem(product.id);
+                    }
+                }
+                return Response.redirect("/cart");
+            case "/cart/remove":
+                if (product != null) {
+                    session.removeItem(product.id);
+                }
+                return Response.redirect("/cart");
+            case "/cart/fulfillment":
+                session.fulfillment = "ship".equals(form.get("fulfillment")) ? "ship" : "pickup";
+                session.pickupConfirmed = false;
+                return Response.redirect("/cart");
+            case "/cart/promo":
+                String code = form.getOrDefault("promoCode", "").trim().toUpperCase(Locale.ROOT);
+                if (PROMO_CODES.containsKey(code)) {
+                    session.promoCode = code;
+                    session.flash = "Promo code " + code + " applied.";
+                } else {
+                    session.flash = "The coupon code entered is not valid.";
+                }
+                return Response.redirect("/cart");
+            case "/checkout/guest":
+                session.guest = true;
+                return Response.redirect("/checkout/contact");
+            case "/checkout/contact":
+                String error = validateContact(form);
+                if (error != null) {
+                    return Response.html(200, StorefrontPages.contact(session, totals(session), error));
+                }
+                for (String field : Arrays.asList("firstName", "lastName", "email", "phone")) {
+                    session.contact.put(field, form.get(field).trim());
+                }
+                return Response.redirect("/checkout/pickup");
+            case "/checkout/pickup":
+                session.pickupPerson = form.getOrDefault("pickupPerson", "self");
+                session.pickupConfirmed = true;
+                return Response.redirect("/checkout/payment");
+            default:
+                return Response.html(404, StorefrontPages.error(404));
+        }
+    }
+
+    static List<Product> search(String keyword) {
+        List<Product> results = new ArrayList<>();
+        String[] terms = keyword.toLowerCase(Locale.ROOT).trim().split("\\s+");
+        for (Product product : CATALOG) {
+            String haystack = (product.name + " " + product.brand + " " + product.category).toLowerCase(Locale.ROOT);
+            boolean matches = !keyword.trim().isEmpty();
+            for (String term : terms) {
+                matches &= haystack.contains(term);
+            }
+            if (matches) {
+                results.add(product);
+            }
+        }
+        return results;
+    }
+
+    static Product product(String id) {
+        for (Product product : CATALOG) {
+            if (product.id.equals(id)) {
+                return product;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Taxes stay "TBD" until the pickup step is confirmed, like the real checkout.
+     */
+    static Totals totals(Session session) {
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (Map.Entry<String, Integer> item : session.cart.entrySet()) {
+            subtotal = subtotal.add(product(item.getKey()).price.multiply(BigDecimal.valueOf(item.getValue())));
+        }
+        if (session.cart.isEmpty()) {
+            return new Totals(subtotal, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, null);
+        }
+        BigDecimal discount = session.promoCode == null ? BigDecimal.ZERO
+                : subtotal.multiply(PROMO_CODES.get(session.promoCode)).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal shipping = "ship".equals(session.fulfillment) ? SHIPPING : BigDecimal.ZERO;
+        BigDecimal taxes = null;
+        if (session.pickupConfirmed) {
+            taxes = subtotal.subtract(discount).add(HANDLING).add(shipping)
+                    .multiply(TAX_RATE).setScale(2, RoundingMode.HALF_UP);
+        }
+        return new Totals(subtotal, discount, HANDLING, shipping, taxes);
+    }
+
+    private static String validateContact(Map<String, String> form) {
+        for (String field : Arrays.asList("firstName", "lastName", "email", "phone")) {
+            if (form.getOrDefault(field, "").trim().isEmpty()) {
+                return "Please fill in all required fields.";
+            }
+        }
+        if (!form.get("email").contains("@")) {
+            return "Please enter a valid email address.";
+        }
+        if (form.get("phone").replaceAll("\\D", "").length() != 10) {
+            return "Please enter a 10 digit phone number.";
+        }
+        return null;
+    }
+
+    private static int parseQuantity(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (RuntimeException e) {
+            return 1;
+        }
+    }
+
+    private Session session(HttpExchange exchange) {
+        List<String> cookies = exchange.getRequestHeaders().get("Cookie");
+        if (cookies != null) {
+            for (String header : cookies) {
+                for (String cookie : header.split(";")) {
+                    String[] pair = cookie.trim().split("=", 2);
+                    if (pair.length == 2 && pair[0].equals(SESSION_COOKIE) && sessions.containsKey(pair[1])) {
+                        return sessions.get(pair[1]);
+                    }
+                }
+            }
+        }
+        Session session = new Session(UUID.randomUUID().toString());
+        sessions.put(session.id, session);
+        return session;
+    }
+
+    private static <T> T matchPrefix(Map<String, T> faults, String path) {
+        String best = null;
+        for (String prefix : faults.keySet()) {
+            if (path.startsWith(prefix) && (best == null || prefix.length() > best.length())) {
+                best = prefix;
+            }
+        }
+        return best == null ? null : faults.get(best);
+    }
+
+    private static void send(HttpExchange exchange, Response response, Integer bytesPerSecond) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", response.contentType);
+        for (Map.Entry<String, String> header : response.headers.entrySet()) {
+            exchange.getResponseHeaders().add(header.getKey(), header.getValue());
+        }
+        byte[] body = response.body;
+        exchange.sendResponseHeaders(response.status, body.length == 0 ? -1 : body.length);
+        if (body.length == 0) {
+            return;
+        }
+        OutputStream out = exchange.getResponseBody();
+        if (bytesPerSecond == null) {
+            out.write(body);
+        } else {
+            // Write a tenth of the budget every 100ms
+            int chunk = Math.max(1, bytesPerSecond / 10);
+            try {
+                for (int offset = 0; offset < body.length; offset += chunk) {
+                    out.write(body, offset, Math.min(chunk, body.length - offset));
+                    out.flush();
+                    Thread.sleep(100);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        out.close();
+    }
+
+    static Map<String, String> parseForm(String encoded) {
+        Map<String, String> values = new LinkedHashMap<>();
+        if (encoded == null || encoded.isEmpty()) {
+            return values;
+        }
+        for (String pair : encoded.split("&")) {
+            String[] parts = pair.split("=", 2);
+            try {
+                values.put(URLDecoder.decode(parts[0], "UTF-8"),
+                        parts.length > 1 ? URLDecoder.decode(parts[1], "UTF-8") : "");
+            } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+                // Skip malformed pairs
+            }
+        }
+        return values;
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        if (in == null) {
+            return new byte[0];
+        }
+        try (InputStream input = in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    static final class Product {
+        final String id;
+        final String name;
+        final String brand;
+        final String color;
+        final BigDecimal price;
+        final String category;
+        final String sku;
+        final String description;
+
+        Product(String id, String name, String brand, String color, String price,
+                String category, String sku, String description) {
+            this.id = id;
+            this.name = name;
+            this.brand = brand;
+            this.color = color;
+            this.price = new BigDecimal(price);
+            this.category = category;
+            this.sku = sku;
+            this.description = description;
+        }
+
+        String priceRange() {
+            if (price.compareTo(new BigDecimal("25")) < 0) {
+                return "under-25";
+            }
+            return price.compareTo(new BigDecimal("50")) > 0 ? "over-50" : "25-50";
+        }
+    }
+
+    static final class Session {
+        final String id;
+        final Map<String, Integer> cart = new LinkedHashMap<>();
+        final Map<String, String> contact = new LinkedHashMap<>();
+        boolean isNew = true;
+        String fulfillment = "pickup";
+        String promoCode;
+        String flash;
+        boolean guest;
+        String pickupPerson = "self";
+        boolean pickupConfirmed;
+
+        Session(String id) {
+            this.id = id;
+        }
+
+        int itemCount() {
+            int count = 0;
+            for (int quantity : cart.values()) {
+                count += quantity;
+            }
+            return count;
+        }
+
+        void removeItem(String productId) {
+            cart.remove(productId);
+            pickupConfirmed = false;
+            if (cart.isEmpty()) {
+                // An emptied cart starts checkout over
+                promoCode = null;
+                guest = false;
+                contact.clear();
+            }
+        }
+    }
+
+    static final class Totals {
+        final BigDecimal subtotal;
+        final BigDecimal discount;
+        final BigDecimal handling;
+        final BigDecimal shipping;
+        final BigDecimal taxes;
+
+        Totals(BigDecimal subtotal, BigDecimal discount, BigDecimal handling, BigDecimal shipping, BigDecimal taxes) {
+            this.subtotal = subtotal;
+            this.discount = discount;
+            this.handling = handling;
+            this.shipping = shipping;
+            this.taxes = taxes;
+        }
+
+        BigDecimal total() {
+            BigDecimal total = subtotal.subtract(discount).add(handling).add(shipping);
+            return taxes == null ? total : total.add(taxes);
+        }
+    }
+
+    static final class Response {
+        final int status;
+        final String contentType;
+        final byte[] body;
+        final Map<String, String> headers = new LinkedHashMap<>();
+
+        private Response(int status, String contentType, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        static Response html(int status, String html) {
+            Response response = new Response(status, "text/html; charset=utf-8", html.getBytes(StandardCharsets.UTF_8));
+            response.headers.put("Cache-Control", "no-store");
+            return response;
+        }
+
+        static Response asset(String contentType, String content) {
+            Response response = new Response(200, contentType + "; charset=utf-8", content.getBytes(StandardCharsets.UTF_8));
+            response.headers.put("Cache-Control", "public, max-age=86400");
+            return response;
+        }
+
+        static Response redirect(String location) {
+            Response response = new Response(303, "text/plain; charset=utf-8", new byte[0]);
+            response.headers.put("Location", location);
+            response.headers.put("Cache-Control", "no-store");
+            return response;
+        }
+    }
+}
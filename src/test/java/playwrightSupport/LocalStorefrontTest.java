@@ -0,0 +1,182 @@
+package playwrightSupport;
+
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exercises the local storefront over plain HTTP, without a browser
+ */
+public class LocalStorefrontTest {
+    private static LocalStorefront storefront;
+    private String cookie;
+
+    @BeforeAll
+    static void startStorefront() {
+        storefront = LocalStorefront.start();
+    }
+
+    @AfterAll
+    static void stopStorefront() {
+        storefront.close();
+    }
+
+    @AfterEach
+    void clearFaults() {
+        storefront.clearFaults();
+    }
+
+    @Test
+    @DisplayName("Cart totals follow the purchase pathway")
+    public void testCheckoutTotals() throws IOException {
+        assertTrue(get("/search?keyword=earbuds").body.contains("JBL Quantum True Wireless"));
+
+        Page added = post("/cart/add", "productId=jbl-quantum-tws-black");
+        assertEquals(303, added.status);
+        assertEquals("/product/jbl-quantum-tws-black", added.location);
+
+        String cart = get("/cart").body;
+        assertTrue(cart.contains("Your Shopping Cart"));
+        assertSummary(cart, "subtotal", "$149.98");
+        assertSummary(cart, "handling", "$2.00");
+        assertSummary(cart, "taxes", "TBD");
+        assertSummary(cart, "total", "$151.98");
+
+        post("/cart/promo", "promoCode=TEST");
+        assertTrue(get("/cart").body.contains("The coupon code entered is not valid."));
+        assertFalse(get("/cart").body.contains("not valid"), "Promo message is shown once");
+
+        assertEquals(200, get("/checkout").status);
+        assertEquals("/checkout/contact", post("/checkout/guest", "").location);
+        assertEquals("/checkout/pickup", post("/checkout/contact",
+                "firstName=John&lastName=Doe&email=john.doe%40example.com&phone=3125551234").location);
+        assertTrue(get("/checkout/pickup").body.contains("john.doe@example.com"));
+        assertEquals("/checkout/payment", post("/checkout/pickup", "pickupPerson=self").location);
+
+        String payment = get("/checkout/payment").body;
+        assertSummary(payment, "taxes", "$15.58");
+        assertSummary(payment, "total", "$167.56");
+
+        post("/cart/remove", "productId=jbl-quantum-tws-black");
+        assertTrue(get("/cart").body.contains("Your cart is empty"));
+        assertEquals("/cart", get("/checkout").location);
+    }
+
+    @Test
+    @DisplayName("Valid promo codes discount the subtotal before tax")
+    public void testValidPromoCode() throws IOException {
+        post("/cart/add", "productId=jbl-quantum-tws-black");
+        post("/cart/promo", "promoCode=depaul10");
+
+        String cart = get("/cart").body;
+        assertTrue(cart.contains("Promo code DEPAUL10 applied."));
+        assertSummary(cart, "discount", "-$15.00");
+        assertSummary(cart, "total", "$136.98");
+    }
+
+    @Test
+    @DisplayName("Each session has its own cart")
+    public void testSessionsAreIsolated() throws IOException {
+        post("/cart/add", "productId=skullcandy-dime-black");
+        assertTrue(get("/cart").body.contains("Skullcandy Dime 3"));
+
+        cookie = null;
+        assertTrue(get("/cart").body.contains("Your cart is empty"));
+    }
+
+    @Test
+    @DisplayName("Injected latency and errors apply per endpoint")
+    public void testFaultInjection() throws IOException {
+        storefront.delay("/cart", 300).fail("/checkout", 503);
+
+        long start = System.currentTimeMillis();
+        assertEquals(200, get("/cart").status);
+        assertTrue(System.currentTimeMillis() - start >= 300, "Cart should be delayed");
+
+        start = System.currentTimeMillis();
+        assertEquals(200, get("/").status);
+        assertTrue(System.currentTimeMillis() - start < 300, "Home page should not be delayed");
+
+        Page failed = get("/checkout/contact");
+        assertEquals(503, failed.status);
+        assertTrue(failed.body.contains("Service Unavailable"));
+    }
+
+    @Test
+    @DisplayName("Throttled responses are streamed slowly")
+    public void testThrottledResponse() throws IOException {
+        int size = get("/static/storefront.js").body.length();
+        storefront.throttle("/static", size);
+
+        long start = System.currentTimeMillis();
+        assertEquals(size, get("/static/storefront.js").body.length());
+        assertTrue(System.currentTimeMillis() - start >= 900, "One second budget should be spread over the body");
+    }
+
+    private void assertSummary(String html, String line, String expected) {
+        String marker = "<div class=\"summary-line " + line + "\">";
+        int start = html.indexOf(marker);
+        assertTrue(start >= 0, "Missing summary line " + line);
+        String value = html.substring(html.indexOf("<dd>", start) + 4, html.indexOf("</dd>", start));
+        assertEquals(expected, value, line);
+    }
+
+    private Page get(String path) throws IOException {
+        return request("GET", path, null);
+    }
+
+    private Page post(String path, String form) throws IOException {
+        return request("POST", path, form);
+    }
+
+    private Page request(String method, String path, String form) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(storefront.url() + path).openConnection();
+        connection.setInstanceFollowRedirects(false);
+        connection.setRequestMethod(method);
+        if (cookie != null) {
+            connection.setRequestProperty("Cookie", cookie);
+        }
+        if (form != null) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(form.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        Page page = new Page();
+        page.status = connection.getResponseCode();
+        page.location = connection.getHeaderField("Location");
+        String setCookie = connection.getHeaderField("Set-Cookie");
+        if (setCookie != null) {
+            cookie = setCookie.split(";")[0];
+        }
+        InputStream in = page.status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        if (in != null) {
+            try (InputStream input = in) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = input.read(buffer)) != -1) {
+                    body.write(buffer, 0, read);
+                }
+            }
+        }
+        page.body = new String(body.toByteArray(), StandardCharsets.UTF_8);
+        return page;
+    }
+
+    private static final class Page {
+        int status;
+        String location;
+        String body;
+    }
+}
@@ -0,0 +1,245 @@
+package playwrightSupport;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.microsoft.playwright.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * One persistent Chromium context per test class whose HTTP disk cache lives in a
+ * shared directory, so JS bundles, CSS and images are served from disk on later
+ * tests and later runs instead of being downloaded again.
+ *
+ * The user data directory itself is a fresh temporary directory, so cookies and
+ * storage never carry over between runs. Between tests the context is reset:
+ * pages are closed and cookies, permissions and origin storage are cleared.
+ *
+ * Enable with -Dbrowser.cache=true (or BROWSER_CACHE=true). The cache location
+ * defaults to .browser-cache/ and can be changed with -Dbrowser.cache.dir
+ */
+public class PersistentCacheProfile implements AutoCloseable {
+    // Everything Storage.clearDataForOrigin knows about except the HTTP cache
+    private static final String STORAGE_TYPES =
+            "cookies,file_systems,indexeddb,local_storage,shader_cache,websql,service_workers,cache_storage";
+
+    private final String suiteName;
+    private final Path userDataDir;
+    private final Path cacheDir;
+    private final BrowserContext context;
+    private final Set<String> visitedOrigins = new LinkedHashSet<>();
+    private final CacheStats stats = new CacheStats();
+    private CDPSession session;
+
+    public static boolean isEnabled() {
+        String value = System.getProperty("browser.cache", System.getenv("BROWSER_CACHE"));
+        return Boolean.parseBoolean(value);
+    }
+
+    public static Path cacheRoot() {
+        String value = System.getProperty("browser.cache.dir", System.getenv("BROWSER_CACHE_DIR"));
+        return Paths.get(value == null || value.trim().isEmpty() ? ".browser-cache" : value);
+    }
+
+    public PersistentCacheProfile(String suiteName, BrowserType browserType,
+                                  BrowserType.LaunchPersistentContextOptions options) {
+        if (!"chromium".equals(browserType.name())) {
+            throw new IllegalArgumentException("Persistent cache mode requires Chromium, got " + browserType.name());
+        }
+        this.suiteName = suiteName;
+        this.cacheDir = cacheRoot().resolve(suiteName).toAbsolutePath();
+        try {
+            Files.createDirectories(cacheDir);
+            this.userDataDir = Files.createTempDirectory("playwright-profile-");
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not prepare browser cache directories", e);
+        }
+
+        List<String> args = new ArrayList<>();
+        if (options.args != null) {
+            args.addAll(options.args);
+        }
+        args.add("--disk-cache-dir=" + cacheDir);
+        context = browserType.launchPersistentContext(userDataDir, options.setArgs(args));
+        // The context starts with an about:blank page that would otherwise record an empty video
+        for (Page page : new ArrayList<>(context.pages())) {
+            page.close();
+        }
+        System.out.println("Persistent browser cache: " + cacheDir);
+    }
+
+    /**
+     * Opens a page in a clean state and starts counting cache hits for it.
+     */
+    public Page newPage() {
+        context.clearCookies();
+        Page page = context.newPage();
+        page.onFrameNavigated(frame -> {
+            String origin = originOf(frame.url());
+            if (origin != null) {
+                visitedOrigins.add(origin);
+            }
+        });
+
+        session = context.newCDPSession(page);
+        session.on("Network.requestServedFromCache", stats::onServedFromCache);
+        session.on("Network.responseReceived", stats::onResponseReceived);
+        session.on("Network.dataReceived", stats::onDataReceived);
+        session.on("Network.loadingFinished", stats::onLoadingFinished);
+        session.send("Network.enable");
+        return page;
+    }
+
+    /**
+     * Restores the isolation a brand-new context would give: closes the test's pages and
+     * clears cookies, permissions and storage for every origin it visited. The HTTP cache stays.
+     */
+    public void reset() {
+        if (session != null) {
+            for (String origin : visitedOrigins) {
+                JsonObject params = new JsonObject();
+                params.addProperty("origin", origin);
+                params.addProperty("storageTypes", STORAGE_TYPES);
+                try {
+                    session.send("Storage.clearDataForOrigin", params);
+                } catch (PlaywrightException e) {
+                    System.out.println("Could not clear storage for " + origin + ": " + e.getMessage());
+                }
+            }
+            session.detach();
+            session = null;
+        }
+        visitedOrigins.clear();
+        stats.clearPending();
+
+        for (Page page : new ArrayList<>(context.pages())) {
+            page.close();
+        }
+        context.clearCookies();
+        context.clearPermissions();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        deleteRecursively(userDataDir);
+        String report = stats.report(suiteName);
+        System.out.println(report);
+        SuiteReports.write("browser-cache", suiteName, report);
+    }
+
+    private static String originOf(String url) {
+        try {
+            URI uri = URI.create(url);
+            if (uri.getScheme() == null || !uri.getScheme().startsWith("http") || uri.getHost() == null) {
+                return null;
+            }
+            return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() == -1 ? "" : ":" + uri.getPort());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+        }
+        return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    private static void deleteRecursively(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            System.out.println("Could not delete " + dir + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Counts responses, cache hits and bytes from the DevTools Network events of each test.
+     */
+    static final class CacheStats {
+        private final Map<String, RequestStats> requests = new HashMap<>();
+        private int responses;
+        private int cacheHits;
+        private long bytesTransferred;
+        private long bytesSaved;
+
+        void onServedFromCache(JsonObject event) {
+            request(event).fromCache = true;
+        }
+
+        void onResponseReceived(JsonObject event) {
+            RequestStats stats = request(event);
+            JsonObject response = event.getAsJsonObject("response");
+            if (response.has("fromDiskCache") && response.get("fromDiskCache").getAsBoolean()) {
+                stats.fromCache = true;
+            }
+            JsonObject headers = response.getAsJsonObject("headers");
+            if (headers != null) {
+                for (Map.Entry<String, JsonElement> header : headers.entrySet()) {
+                    if ("content-length".equalsIgnoreCase(header.getKey())) {
+                        try {
+                            stats.contentLength = Long.parseLong(header.getValue().getAsString().trim());
+                        } catch (NumberFormatException e) {
+                            // Leave it unknown, the decoded size is used instead
+                        }
+                    }
+                }
+            }
+        }
+
+        void onDataReceived(JsonObject event) {
+            request(event).decodedBytes += event.get("dataLength").getAsLong();
+        }
+
+        void onLoadingFinished(JsonObject event) {
+            RequestStats stats = requests.remove(event.get("requestId").getAsString());
+            if (stats == null) {
+                return;
+            }
+            responses++;
+            if (stats.fromCache) {
+                cacheHits++;
+                bytesSaved += stats.contentLength >= 0 ? stats.contentLength : stats.decodedBytes;
+            } else {
+                bytesTransferred += event.get("encodedDataLength").getAsLong();
+            }
+        }
+
+        /**
+         * Drops requests of a finished test that never completed loading.
+         */
+        void clearPending() {
+            requests.clear();
+        }
+
+        String report(String suiteName) {
+            double hitRatio = responses == 0 ? 0 : 100.0 * cacheHits / responses;
+            return String.format(Locale.ROOT, "=== Browser Cache Report: %s ===%n"
+                            + "Responses: %d, served from cache: %d (%.1f%% hit ratio)%n"
+                            + "Downloaded: %s, saved by cache: %s%n",
+                    suiteName, responses, cacheHits, hitRatio,
+                    formatBytes(bytesTransferred), formatBytes(bytesSaved));
+        }
+
+        private RequestStats request(JsonObject event) {
+            return requests.computeIfAbsent(event.get("requestId").getAsString(), id -> new RequestStats());
+        }
+    }
+
+    private static final class RequestStats {
+        boolean fromCache;
+        long contentLength = -1;
+        long decodedBytes;
+    }
+}
@@ -0,0 +1,85 @@
+package playwrightSupport;
+
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the cache accounting against synthetic DevTools Network events, without a browser
+ */
+public class PersistentCacheProfileTest {
+    private PersistentCacheProfile.CacheStats stats;
+
+    @BeforeEach
+    void createStats() {
+        stats = new PersistentCacheProfile.CacheStats();
+    }
+
+    @Test
+    @DisplayName("Hits, misses and bytes are counted per finished request")
+    public void testCacheAccounting() {
+        // Downloaded over the network: the encoded transfer size counts
+        stats.onResponseReceived(response("1", false, 1000L));
+        stats.onDataReceived(data("1", 1000));
+        stats.onLoadingFinished(finished("1", 1200));
+
+        // Served from the memory cache: the declared content length is saved
+        stats.onServedFromCache(event("2"));
+        stats.onResponseReceived(response("2", false, 2048L));
+        stats.onLoadingFinished(finished("2", 0));
+
+        // Served from disk without a content length: the decoded bytes are saved
+        stats.onResponseReceived(response("3", true, null));
+        stats.onDataReceived(data("3", 512));
+        stats.onDataReceived(data("3", 512));
+        stats.onLoadingFinished(finished("3", 0));
+
+        String report = stats.report("Suite");
+        assertTrue(report.contains("=== Browser Cache Report: Suite ==="), report);
+        assertTrue(report.contains("Responses: 3, served from cache: 2 (66.7% hit ratio)"), report);
+        assertTrue(report.contains("Downloaded: 1.2 KB, saved by cache: 3.0 KB"), report);
+    }
+
+    @Test
+    @DisplayName("Requests left unfinished by a test are not counted")
+    public void testUnfinishedRequests() {
+        stats.onResponseReceived(response("1", true, 4096L));
+        stats.clearPending();
+        stats.onLoadingFinished(finished("1", 0));
+        stats.onLoadingFinished(finished("unknown", 100));
+
+        assertTrue(stats.report("Suite").contains("Responses: 0, served from cache: 0 (0.0% hit ratio)"));
+    }
+
+    private static JsonObject event(String requestId) {
+        JsonObject event = new JsonObject();
+        event.addProperty("requestId", requestId);
+        return event;
+    }
+
+    private static JsonObject response(String requestId, boolean fromDiskCache, Long contentLength) {
+        JsonObject headers = new JsonObject();
+        if (contentLength != null) {
+            headers.addProperty("Content-Length", String.valueOf(contentLength));
+        }
+        JsonObject response = new JsonObject();
+        response.addProperty("fromDiskCache", fromDiskCache);
+        response.add("headers", headers);
+        JsonObject event = event(requestId);
+        event.add("response", response);
+        return event;
+    }
+
+    private static JsonObject data(String requestId, long dataLength) {
+        JsonObject event = event(requestId);
+        event.addProperty("dataLength", dataLength);
+        return event;
+    }
+
+    private static JsonObject finished(String requestId, long encodedDataLength) {
+        JsonObject event = event(requestId);
+        event.addProperty("encodedDataLength", encodedDataLength);
+        return event;
+    }
+}
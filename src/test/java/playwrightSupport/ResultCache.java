@@ -0,0 +1,275 @@
+package playwrightSupport;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestWatcher;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.lang.reflect.Method;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Skips UI tests whose inputs have not changed since they last passed.
+ *
+ * A test's fingerprint covers its bytecode and the helpers, lambdas, lifecycle methods
+ * and project classes it reaches (see {@link BytecodeFingerprint}), the Playwright
+ * version from pom.xml, and the page content it runs against: the local storefront's
+ * bytecode when -Dstorefront=local, otherwise a hash of the live home page.
+ * Results are kept per run mode (engines, cache mode, storefront) in .test-results-cache/
+ *
+ * Tests aborted by an assumption are recorded separately and never skipped on their own,
+ * since the assumption may depend on state the fingerprint does not cover. They only let
+ * a class whose other tests are all cached passes skip its browser launch entirely.
+ *
+ * Enable with -Dresult.cache=true (or RESULT_CACHE=true) and force a full run with
+ * -Dresult.cache.force=true (or RESULT_CACHE_FORCE=true)
+ */
+public class ResultCache implements ExecutionCondition, TestWatcher {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(ResultCache.class);
+    private static final String ABORTED = "aborted:";
+    private static final Pattern PLAYWRIGHT_VERSION = Pattern.compile("<playwright\\.version>([^<]+)</playwright\\.version>");
+
+    private static Properties results;
+    private static String inputs;
+    private static boolean inputsResolved;
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty("result.cache", System.getenv("RESULT_CACHE")));
+    }
+
+    public static boolean isForced() {
+        return Boolean.parseBoolean(System.getProperty("result.cache.force", System.getenv("RESULT_CACHE_FORCE")));
+    }
+
+    public static Path cacheFile() {
+        String value = System.getProperty("result.cache.dir", System.getenv("RESULT_CACHE_DIR"));
+        return Paths.get(value == null || value.trim().isEmpty() ? ".test-results-cache" : value, "results.properties");
+    }
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        if (!isEnabled()) {
+            return ConditionEvaluationResult.enabled("Result cache disabled");
+        }
+        if (isForced()) {
+            return ConditionEvaluationResult.enabled("Full run forced");
+        }
+        if (sharedInputs() == null) {
+            return ConditionEvaluationResult.enabled("Page content could not be fingerprinted");
+        }
+
+        Class<?> testClass = context.getRequiredTestClass();
+        Optional<Method> testMethod = context.getTestMethod();
+        if (testMethod.isPresent()) {
+            if (cachedResult(testClass, testMethod.get().getName()) == Cached.PASSED) {
+                summary(context).reused++;
+                return ConditionEvaluationResult.disabled("Unchanged since last passing run");
+            }
+            return ConditionEvaluationResult.enabled("Inputs changed or no cached pass");
+        }
+
+        // Skip the whole class, and with it the browser launch, when every test is unchanged
+        int passed = 0;
+        int aborted = 0;
+        for (Method method : testClass.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(Test.class)) {
+                Cached cached = cachedResult(testClass, method.getName());
+                if (cached == null) {
+                    return ConditionEvaluationResult.enabled("At least one test changed");
+                }
+                if (cached == Cached.PASSED) {
+                    passed++;
+                } else {
+                    aborted++;
+                }
+            }
+        }
+        summary(context).reused += passed;
+        summary(context).aborted += aborted;
+        return ConditionEvaluationResult.disabled("All tests unchanged since they last passed or were aborted");
+    }
+
+    @Override
+    public void testSuccessful(ExtensionContext context) {
+        if (isEnabled() && sharedInputs() != null) {
+            summary(context).executed++;
+            Class<?> testClass = context.getRequiredTestClass();
+            String name = context.getRequiredTestMethod().getName();
+            update(key(testClass, name), fingerprint(testClass, name));
+        }
+    }
+
+    @Override
+    public void testFailed(ExtensionContext context, Throwable cause) {
+        if (isEnabled()) {
+            summary(context).executed++;
+            update(key(context.getRequiredTestClass(), context.getRequiredTestMethod().getName()), null);
+        }
+    }
+
+    /**
+     * Recorded under a marker so the test is never skipped as a pass. Without an entry,
+     * a local-storefront test aborted in live mode would keep its class from being skipped.
+     */
+    @Override
+    public void testAborted(ExtensionContext context, Throwable cause) {
+        if (isEnabled()) {
+            summary(context).executed++;
+            Class<?> testClass = context.getRequiredTestClass();
+            String name = context.getRequiredTestMethod().getName();
+            update(key(testClass, name), sharedInputs() == null ? null : ABORTED + fingerprint(testClass, name));
+        }
+    }
+
+    /**
+     * How the test last ended if its inputs are unchanged since, otherwise null.
+     */
+    private static Cached cachedResult(Class<?> testClass, String methodName) {
+        String fingerprint = fingerprint(testClass, methodName);
+        String stored = results().getProperty(key(testClass, methodName));
+        if (fingerprint.equals(stored)) {
+            return Cached.PASSED;
+        }
+        if ((ABORTED + fingerprint).equals(stored)) {
+            return Cached.ABORTED;
+        }
+        return null;
+    }
+
+    private static String key(Class<?> testClass, String methodName) {
+        return testClass.getName() + "#" + methodName + "[" + mode() + "]";
+    }
+
+    private static String fingerprint(Class<?> testClass, String methodName) {
+        String combined = BytecodeFingerprint.of(testClass, methodName) + "\n" + sharedInputs();
+        return BytecodeFingerprint.sha256Hex(combined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Run mode settings that change what a pass means, kept apart so each mode has its own entry.
+     */
+    private static String mode() {
+        return "engines=" + (BrowserMatrix.isEnabled() ? String.join(",", BrowserMatrix.engineNames()) : "chromium")
+                + ",cache=" + PersistentCacheProfile.isEnabled()
+                + ",storefront=" + (LocalStorefront.isEnabled() ? "local" : "live");
+    }
+
+    /**
+     * Inputs shared by every test, or null when the live page could not be fetched.
+     * The local storefront needs no entry here: its classes are part of each bytecode fingerprint.
+     */
+    private static synchronized String sharedInputs() {
+        if (!inputsResolved) {
+            inputsResolved = true;
+            String content = LocalStorefront.isEnabled() ? "local" : liveContentHash();
+            inputs = content == null ? null : "playwright=" + playwrightVersion() + "\ncontent=" + content;
+        }
+        return inputs;
+    }
+
+    private static String playwrightVersion() {
+        try {
+            String pom = new String(Files.readAllBytes(Paths.get("pom.xml")), StandardCharsets.UTF_8);
+            Matcher matcher = PLAYWRIGHT_VERSION.matcher(pom);
+            return matcher.find() ? matcher.group(1).trim() : "unknown";
+        } catch (IOException e) {
+            return "unknown";
+        }
+    }
+
+    private static String liveContentHash() {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(LocalStorefront.STOREFRONT_URL + "/").openConnection();
+            connection.setConnectTimeout(10000);
+            connection.setReadTimeout(10000);
+            connection.setRequestProperty("User-Agent", "Mozilla/5.0");
+            try (InputStream in = connection.getInputStream()) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+                // Scripts carry per-request tokens; markup and text are what the tests look at
+                String html = new String(out.toByteArray(), StandardCharsets.UTF_8)
+                        .replaceAll("(?is)<script\\b.*?</script>", "")
+                        .replaceAll("\\s+", " ");
+                return BytecodeFingerprint.sha256Hex(html.getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            System.out.println("Result cache: could not fetch storefront, running all tests (" + e.getMessage() + ")");
+            return null;
+        }
+    }
+
+    private static synchronized Properties results() {
+        if (results == null) {
+            results = new Properties();
+            Path file = cacheFile();
+            if (Files.exists(file)) {
+                try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    results.load(reader);
+                } catch (IOException e) {
+                    System.out.println("Result cache: ignoring unreadable " + file + " (" + e.getMessage() + ")");
+                }
+            }
+        }
+        return results;
+    }
+
+    private static synchronized void update(String key, String value) {
+        Properties properties = results();
+        if (value == null) {
+            properties.remove(key);
+        } else {
+            properties.setProperty(key, value);
+        }
+        Path file = cacheFile();
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (OutputStream out = Files.newOutputStream(file)) {
+                properties.store(out, "Fingerprints of passing UI tests; aborted ones carry an aborted: prefix");
+            }
+        } catch (IOException e) {
+            System.out.println("Result cache: could not write " + file + " (" + e.getMessage() + ")");
+        }
+    }
+
+    private static Summary summary(ExtensionContext context) {
+        return context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent("summary", key -> new Summary(), Summary.class);
+    }
+
+    private enum Cached {
+        PASSED, ABORTED
+    }
+
+    /**
+     * Printed once when the whole run finishes.
+     */
+    private static final class Summary implements ExtensionContext.Store.CloseableResource {
+        int reused;
+        int aborted;
+        int executed;
+
+        @Override
+        public void close() {
+            System.out.println(String.format("Result cache: %d tests reused from cache, %d executed, "
+                    + "%d skipped with their class after aborting last run", reused, executed, aborted));
+        }
+    }
+}
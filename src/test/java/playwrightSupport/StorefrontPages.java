@@ -0,0 +1,376 @@
+package playwrightSupport;
+
+import playwrightSupport.LocalStorefront.Product;
+import playwrightSupport.LocalStorefront.Session;
+import playwrightSupport.LocalStorefront.Totals;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+
+/**
+ * HTML for the local storefront. Class names, labels and button texts mirror the
+ * hooks the bookstore suites select on (search box placeholder, facet toggles,
+ * "Add to Cart", cart icon link, promo input, "Proceed To Checkout", etc.)
+ */
+final class StorefrontPages {
+    static final String STYLESHEET = ""
+            + "[hidden] { display: none !important; }\n"
+            + "body { font-family: Arial, sans-serif; margin: 0; color: #222; }\n"
+            + ".site-header { display: flex; gap: 16px; align-items: center; padding: 12px 24px; background: #004b8d; }\n"
+            + ".site-header a, .site-nav a { color: #fff; text-decoration: none; }\n"
+            + ".site-nav { display: flex; gap: 16px; padding: 8px 24px; background: #1a5fa0; }\n"
+            + "main { padding: 24px; }\n"
+            + ".search-layout, .cart-layout { display: flex; gap: 32px; }\n"
+            + ".facets { width: 220px; }\n"
+            + ".facet-toggle { display: block; width: 100%; text-align: left; margin: 8px 0; }\n"
+            + ".facet-options label { display: block; padding: 2px 0; }\n"
+            + ".product-card { display: flex; justify-content: space-between; padding: 12px 0; border-bottom: 1px solid #ddd; }\n"
+            + ".order-summary { width: 300px; border: 1px solid #ddd; padding: 16px; }\n"
+            + ".summary-line { display: flex; justify-content: space-between; }\n"
+            + ".summary-line dt, .summary-line dd { margin: 4px 0; }\n"
+            + ".error { color: #b00020; }\n";
+
+    static final String SCRIPT = ""
+            + "document.querySelectorAll('.facet-toggle').forEach(function (toggle) {\n"
+            + "  toggle.addEventListener('click', function () {\n"
+            + "    var options = toggle.nextElementSibling;\n"
+            + "    options.hidden = !options.hidden;\n"
+            + "    toggle.setAttribute('aria-expanded', String(!options.hidden));\n"
+            + "  });\n"
+            + "});\n"
+            + "function applyFilters() {\n"
+            + "  var selected = {};\n"
+            + "  document.querySelectorAll('.facet input:checked').forEach(function (box) {\n"
+            + "    (selected[box.name] = selected[box.name] || []).push(box.value);\n"
+            + "  });\n"
+            + "  var visible = 0;\n"
+            + "  document.querySelectorAll('.product-card').forEach(function (card) {\n"
+            + "    var match = Object.keys(selected).every(function (facet) {\n"
+            + "      return selected[facet].indexOf(card.dataset[facet]) !== -1;\n"
+            + "    });\n"
+            + "    card.hidden = !match;\n"
+            + "    if (match) { visible++; }\n"
+            + "  });\n"
+            + "  document.querySelector('.result-count').textContent = visible + ' Results';\n"
+            + "}\n"
+            + "document.querySelectorAll('.facet input').forEach(function (box) {\n"
+            + "  box.addEventListener('change', applyFilters);\n"
+            + "});\n"
+            + "document.querySelectorAll('.auto-submit').forEach(function (input) {\n"
+            + "  input.addEventListener('change', function () { input.form.submit(); });\n"
+            + "});\n";
+
+    private static final Map<String, String> PRICE_RANGES = new LinkedHashMap<>();
+
+    static {
+        PRICE_RANGES.put("under-25", "Under $25");
+        PRICE_RANGES.put("25-50", "$25 - $50");
+        PRICE_RANGES.put("over-50", "Over $50");
+    }
+
+    private StorefrontPages() {
+    }
+
+    static String home(Session session) {
+        return layout("DePaul University Bookstore", session, ""
+                + "<section class=\"hero\">\n"
+                + "  <h1>Welcome to the DePaul University Bookstore</h1>\n"
+                + "  <p>Textbooks, course materials, Blue Demons apparel and tech for the DePaul community.</p>\n"
+                + "</section>\n"
+                + "<section class=\"featured\">\n"
+                + "  <h2>Shop by Department</h2>\n"
+                + "  <ul>\n"
+                + "    <li><a href=\"/search?keyword=textbooks\">Textbooks</a></li>\n"
+                + "    <li><a href=\"/search?keyword=apparel\">Apparel</a></li>\n"
+                + "    <li><a href=\"/search?keyword=earbuds\">Electronics</a></li>\n"
+                + "  </ul>\n"
+                + "</section>\n");
+    }
+
+    static String search(Session session, String keyword, List<Product> results) {
+        StringBuilder body = new StringBuilder();
+        body.append("<h1>Search results for \"").append(escape(keyword)).append("\"</h1>\n");
+        body.append("<p class=\"result-count\">").append(results.size()).append(" Results</p>\n");
+        if (results.isEmpty()) {
+            body.append("<p class=\"no-results\">We couldn't find any products matching your search.</p>\n");
+            return layout("Search | DePaul University Bookstore", session, body.toString());
+        }
+
+        Set<String> brands = new TreeSet<>();
+        Set<String> colors = new TreeSet<>();
+        Set<String> ranges = new HashSet<>();
+        for (Product product : results) {
+            brands.add(product.brand);
+            colors.add(product.color);
+            ranges.add(product.priceRange());
+        }
+        Map<String, String> brandOptions = new LinkedHashMap<>();
+        brands.forEach(brand -> brandOptions.put(brand, brand));
+        Map<String, String> colorOptions = new LinkedHashMap<>();
+        colors.forEach(color -> colorOptions.put(color, color));
+        Map<String, String> priceOptions = new LinkedHashMap<>();
+        PRICE_RANGES.forEach((range, label) -> {
+            if (ranges.contains(range)) {
+                priceOptions.put(range, label);
+            }
+        });
+
+        body.append("<div class=\"search-layout\">\n<aside class=\"facets\">\n");
+        body.append(facet("brand", "Brand", brandOptions));
+        body.append(facet("color", "Color", colorOptions));
+        body.append(facet("price", "Price", priceOptions));
+        body.append("</aside>\n<section class=\"results\">\n");
+        for (Product product : results) {
+            body.append("<div class=\"product-card\" data-brand=\"").append(escape(product.brand))
+                    .append("\" data-color=\"").append(escape(product.color))
+                    .append("\" data-price=\"").append(product.priceRange()).append("\">\n")
+                    .append("  <a class=\"product-link\" href=\"/product/").append(product.id).append("\">")
+                    .append(escape(product.name)).append("</a>\n")
+                    .append("  <span class=\"product-card-price\">").append(money(product.price)).append("</span>\n")
+                    .append("</div>\n");
+        }
+        body.append("</section>\n</div>\n");
+        return layout("Search | DePaul University Bookstore", session, body.toString());
+    }
+
+    static String product(Session session, Product product) {
+        return layout(product.name + " | DePaul University Bookstore", session, ""
+                + "<article class=\"product-detail\">\n"
+                + "  <h1 class=\"product-name\">" + escape(product.name) + "</h1>\n"
+                + "  <p class=\"product-sku\">SKU: " + product.sku + "</p>\n"
+                + "  <p class=\"product-price\">" + money(product.price) + "</p>\n"
+                + "  <div class=\"product-description\">\n"
+                + "    <h2>Description</h2>\n"
+                + "    <p>" + escape(product.description) + "</p>\n"
+                + "  </div>\n"
+                + "  <form action=\"/cart/add\" method=\"post\">\n"
+                + "    <input type=\"hidden\" name=\"productId\" value=\"" + product.id + "\">\n"
+                + "    <button type=\"submit\" class=\"add-to-cart\">Add to Cart</button>\n"
+                + "  </form>\n"
+                + "</article>\n");
+    }
+
+    static String cart(Session session, Totals totals) {
+        StringBuilder body = new StringBuilder("<h1>Your Shopping Cart</h1>\n<div class=\"cart-layout\">\n");
+        body.append("<section class=\"cart-items\">\n");
+        if (session.cart.isEmpty()) {
+            body.append("<p class=\"cart-empty\">Your cart is empty</p>\n");
+        }
+        for (Map.Entry<String, Integer> item : session.cart.entrySet()) {
+            Product product = LocalStorefront.product(item.getKey());
+            BigDecimal lineTotal = product.price.multiply(BigDecimal.valueOf(item.getValue()));
+            body.append("<div class=\"cart-item\" data-product-id=\"").append(product.id).append("\">\n")
+                    .append("  <a class=\"cart-item-name\" href=\"/product/").append(product.id).append("\">")
+                    .append(escape(product.name)).append("</a>\n")
+                    .append("  <form class=\"cart-item-quantity\" action=\"/cart/update\" method=\"post\">\n")
+                    .append("    <input type=\"hidden\" name=\"productId\" value=\"").append(product.id).append("\">\n")
+                    .append("    <label>Qty <input type=\"number\" name=\"quantity\" min=\"0\" value=\"")
+                    .append(item.getValue()).append("\" class=\"auto-submit\"></label>\n")
+                    .append("  </form>\n")
+                    .append("  <span class=\"cart-item-price\">").append(money(lineTotal)).append("</span>\n")
+                    .append("  <form action=\"/cart/remove\" method=\"post\">\n")
+                    .append("    <input type=\"hidden\" name=\"productId\" value=\"").append(product.id).append("\">\n")
+                    .append("    <button type=\"submit\" aria-label=\"Remove ").append(escape(product.name))
+                    .append("\">Remove</button>\n")
+                    .append("  </form>\n")
+                    .append("</div>\n");
+        }
+        if (!session.cart.isEmpty()) {
+            body.append("<form class=\"fulfillment\" action=\"/cart/fulfillment\" method=\"post\">\n")
+                    .append(radio("fulfillment", "pickup", "FAST In-Store Pickup", "pickup".equals(session.fulfillment), true))
+                    .append(radio("fulfillment", "ship", "Ship to Home", "ship".equals(session.fulfillment), true))
+                    .append("</form>\n");
+        }
+        body.append("</section>\n<div class=\"cart-sidebar\">\n");
+        body.append(orderSummary(session, totals, false));
+        body.append("<form class=\"promo\" action=\"/cart/promo\" method=\"post\">\n")
+                .append("  <input type=\"text\" name=\"promoCode\" id=\"promoCode\" placeholder=\"Enter promo code\">\n")
+                .append("  <button type=\"submit\">Apply</button>\n");
+        if (session.flash != null) {
+            boolean rejected = session.flash.contains("not valid");
+            body.append("  <p class=\"").append(rejected ? "promo-error error" : "promo-message")
+                    .append("\" role=\"alert\">").append(escape(session.flash)).append("</p>\n");
+        }
+        body.append("</form>\n");
+        if (!session.cart.isEmpty()) {
+            body.append("<form action=\"/checkout\" method=\"get\">\n")
+                    .append("  <button type=\"submit\" class=\"checkout\">Proceed To Checkout</button>\n")
+                    .append("</form>\n");
+        }
+        body.append("</div>\n</div>\n");
+        return layout("Shopping Cart | DePaul University Bookstore", session, body.toString());
+    }
+
+    static String createAccount(Session session) {
+        return layout("Checkout | DePaul University Bookstore", session, ""
+                + "<h1>Create Account</h1>\n"
+                + "<section class=\"sign-in\">\n"
+                + "  <p>Create an account to track orders and check out faster next time.</p>\n"
+                + "</section>\n"
+                + "<form action=\"/checkout/guest\" method=\"post\">\n"
+                + "  <button type=\"submit\" class=\"guest-checkout\">Proceed As Guest</button>\n"
+                + "</form>\n");
+    }
+
+    static String contact(Session session, Totals totals, String error) {
+        StringBuilder body = new StringBuilder("<h1>Contact Information</h1>\n<div class=\"cart-layout\">\n");
+        body.append("<form class=\"contact-form\" action=\"/checkout/contact\" method=\"post\">\n");
+        if (error != null) {
+            body.append("  <p class=\"form-error error\" role=\"alert\">").append(escape(error)).append("</p>\n");
+        }
+        body.append(input("text", "firstName", "First Name", session.contact.get("firstName")))
+                .append(input("text", "lastName", "Last Name", session.contact.get("lastName")))
+                .append(input("email", "email", "Email Address", session.contact.get("email")))
+                .append(input("tel", "phone", "Phone Number", session.contact.get("phone")))
+                .append("  <button type=\"submit\">Continue</button>\n")
+                .append("</form>\n");
+        body.append(orderSummary(session, totals, true)).append("</div>\n");
+        return layout("Contact Information | DePaul University Bookstore", session, body.toString());
+    }
+
+    static String pickup(Session session, Totals totals) {
+        Map<String, String> contact = session.contact;
+        StringBuilder body = new StringBuilder("<h1>Pickup Information</h1>\n<div class=\"cart-layout\">\n");
+        body.append("<form class=\"pickup-form\" action=\"/checkout/pickup\" method=\"post\">\n")
+                .append("  <section class=\"contact-summary\">\n")
+                .append("    <h2>Contact Information</h2>\n")
+                .append("    <p>").append(escape(contact.get("firstName") + " " + contact.get("lastName"))).append("</p>\n")
+                .append("    <p>").append(escape(contact.get("email"))).append("</p>\n")
+                .append("    <p>").append(escape(contact.get("phone"))).append("</p>\n")
+                .append("  </section>\n")
+                .append("  <section class=\"pickup-location\">\n")
+                .append("    <h2>Pick Up Location</h2>\n")
+                .append("    <p>DePaul University Loop Campus Bookstore, 1 E Jackson Blvd, Chicago, IL 60604</p>\n")
+                .append("  </section>\n")
+                .append("  <section class=\"pickup-person\">\n")
+                .append("    <h2>Pickup Person</h2>\n")
+                .append(radio("pickupPerson", "self", "I'll pick them up", "self".equals(session.pickupPerson), false))
+                .append(radio("pickupPerson", "other", "Someone else will pick them up",
+                        "other".equals(session.pickupPerson), false))
+                .append("  </section>\n")
+                .append("  <button type=\"submit\">Continue</button>\n")
+                .append("</form>\n");
+        body.append(orderSummary(session, totals, true)).append("</div>\n");
+        return layout("Pickup Information | DePaul University Bookstore", session, body.toString());
+    }
+
+    static String payment(Session session, Totals totals) {
+        return layout("Payment Information | DePaul University Bookstore", session, ""
+                + "<h1>Payment Information</h1>\n"
+                + "<div class=\"cart-layout\">\n"
+                + "<section class=\"payment\">\n"
+                + "  <p>Payment is not collected by this storefront.</p>\n"
+                + "  <a class=\"back-to-cart\" href=\"/cart\">BACK TO CART</a>\n"
+                + "</section>\n"
+                + orderSummary(session, totals, true)
+                + "</div>\n");
+    }
+
+    static String error(int status) {
+        String title = status == 404 ? "Page Not Found"
+                : status == 503 ? "Service Unavailable"
+                : status >= 500 ? "Something Went Wrong" : "Request Failed";
+        return "<!DOCTYPE html>\n<html lang=\"en\">\n<head><meta charset=\"utf-8\"><title>" + title
+                + "</title></head>\n<body>\n<h1>" + title + "</h1>\n<p class=\"error-status\">Error " + status
+                + "</p>\n<a href=\"/\">Return to the homepage</a>\n</body>\n</html>\n";
+    }
+
+    private static String layout(String title, Session session, String content) {
+        return "<!DOCTYPE html>\n"
+                + "<html lang=\"en\">\n"
+                + "<head>\n"
+                + "<meta charset=\"utf-8\">\n"
+                + "<title>" + escape(title) + "</title>\n"
+                + "<link rel=\"stylesheet\" href=\"/static/storefront.css\">\n"
+                + "</head>\n"
+                + "<body>\n"
+                + "<header class=\"site-header\">\n"
+                + "  <a class=\"logo\" href=\"/\">DePaul University Bookstore</a>\n"
+                + "  <form class=\"search-form\" action=\"/search\" method=\"get\">\n"
+                + "    <input type=\"search\" name=\"keyword\" placeholder=\"Search products\" aria-label=\"Search\">\n"
+                + "    <button type=\"submit\">Search</button>\n"
+                + "  </form>\n"
+                + "  <a class=\"cart-icon\" href=\"/cart\">Cart <span class=\"cart-count\">" + session.itemCount()
+                + "</span></a>\n"
+                + "</header>\n"
+                + "<nav class=\"site-nav\">\n"
+                + "  <a href=\"/search?keyword=textbooks\">Textbooks</a>\n"
+                + "  <a href=\"/search?keyword=apparel\">Apparel</a>\n"
+                + "  <a href=\"/search?keyword=earbuds\">Electronics</a>\n"
+                + "</nav>\n"
+                + "<main>\n"
+                + content
+                + "</main>\n"
+                + "<script src=\"/static/storefront.js\"></script>\n"
+                + "</body>\n"
+                + "</html>\n";
+    }
+
+    private static String facet(String name, String title, Map<String, String> options) {
+        StringBuilder html = new StringBuilder();
+        html.append("<div class=\"facet\" data-facet=\"").append(name).append("\">\n")
+                .append("  <button type=\"button\" class=\"facet-toggle\" aria-expanded=\"false\">")
+                .append(title).append("</button>\n")
+                .append("  <div class=\"facet-options\" hidden>\n");
+        for (Map.Entry<String, String> option : options.entrySet()) {
+            html.append("    <label><input type=\"checkbox\" name=\"").append(name).append("\" value=\"")
+                    .append(escape(option.getKey())).append("\"> ").append(escape(option.getValue()))
+                    .append("</label>\n");
+        }
+        html.append("  </div>\n</div>\n");
+        return html.toString();
+    }
+
+    private static String orderSummary(Session session, Totals totals, boolean listItems) {
+        StringBuilder html = new StringBuilder("<aside class=\"order-summary\">\n<h2>Order Summary</h2>\n");
+        if (listItems) {
+            html.append("<ul class=\"summary-items\">\n");
+            for (Map.Entry<String, Integer> item : session.cart.entrySet()) {
+                Product product = LocalStorefront.product(item.getKey());
+                html.append("  <li><span class=\"summary-item-name\">").append(escape(product.name))
+                        .append("</span> x").append(item.getValue()).append(" <span class=\"summary-item-price\">")
+                        .append(money(product.price.multiply(BigDecimal.valueOf(item.getValue()))))
+                        .append("</span></li>\n");
+            }
+            html.append("</ul>\n");
+        }
+        html.append("<dl>\n").append(summaryLine("subtotal", "Subtotal", money(totals.subtotal)));
+        if (totals.discount.signum() > 0) {
+            html.append(summaryLine("discount", "Promo " + session.promoCode, "-" + money(totals.discount)));
+        }
+        html.append(summaryLine("handling", "Handling", money(totals.handling)));
+        if (totals.shipping.signum() > 0) {
+            html.append(summaryLine("shipping", "Shipping", money(totals.shipping)));
+        }
+        html.append(summaryLine("taxes", "Taxes", totals.taxes == null ? "TBD" : money(totals.taxes)))
+                .append(summaryLine("total", totals.taxes == null ? "Estimated Total" : "Total", money(totals.total())))
+                .append("</dl>\n</aside>\n");
+        return html.toString();
+    }
+
+    private static String summaryLine(String name, String label, String value) {
+        return "  <div class=\"summary-line " + name + "\"><dt>" + escape(label) + "</dt><dd>" + value + "</dd></div>\n";
+    }
+
+    private static String radio(String name, String value, String label, boolean checked, boolean autoSubmit) {
+        return "  <label><input type=\"radio\" name=\"" + name + "\" value=\"" + value + "\""
+                + (autoSubmit ? " class=\"auto-submit\"" : "") + (checked ? " checked" : "") + "> "
+                + escape(label) + "</label>\n";
+    }
+
+    private static String input(String type, String name, String placeholder, String value) {
+        return "  <label>" + placeholder + " <input type=\"" + type + "\" name=\"" + name + "\" id=\"" + name
+                + "\" placeholder=\"" + placeholder + "\" value=\"" + escape(value == null ? "" : value)
+                + "\" required></label>\n";
+    }
+
+    static String money(BigDecimal amount) {
+        return "$" + amount.setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;")
+                .replace("\"", "&quot;").replace("'", "&#39;");
+    }
+}
@@ -0,0 +1,26 @@
+package playwrightSupport;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Writes per-suite reports to target/&lt;directory&gt;/&lt;suite&gt;.txt next to the surefire reports.
+ */
+final class SuiteReports {
+
+    private SuiteReports() {
+    }
+
+    static void write(String directory, String suiteName, String report) {
+        Path file = Paths.get("target", directory, suiteName + ".txt");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, report.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.out.println("Could not write " + file + ": " + e.getMessage());
+        }
+    }
+}
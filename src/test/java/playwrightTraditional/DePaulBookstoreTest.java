@@ -3,6 +3,10 @@ package playwrightTraditional;
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.AriaRole;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import playwrightSupport.BrowserHarness;
+import playwrightSupport.LocalStorefront;
+import playwrightSupport.ResultCache;
 
 import java.nio.file.Paths;
 
@@ -12,117 +16,263 @@ import static com.microsoft.playwright.assertions.PlaywrightAssertions.assertTha
  * Comprehensive UI test suite for DePaul University Bookstore
  * Tests the complete purchase pathway for earbuds product
  */
+@ExtendWith(ResultCache.class)
 public class DePaulBookstoreTest {
-    private static Playwright playwright;
-    private static Browser browser;
-    private BrowserContext context;
+    private static BrowserHarness harness;
+    // Only the preserved reference test cases below use this; live tests get their page from harness.run
     private Page page;
 
     @BeforeAll
     static void launchBrowser() {
-        playwright = Playwright.create();
         // Run headless in CI environments, headed locally
         boolean isCI = System.getenv("CI") != null;
-        browser = playwright.chromium().launch(new BrowserType.LaunchOptions()
-                .setHeadless(isCI)
-                .setSlowMo(isCI ? 0 : 100));
+        harness = BrowserHarness.launch("DePaulBookstoreTest",
+                new BrowserType.LaunchOptions()
+                        .setHeadless(isCI)
+                        .setSlowMo(isCI ? 0 : 100),
+                // Create context with video recording
+                () -> new Browser.NewContextOptions()
+                        .setRecordVideoDir(Paths.get("videos/"))
+                        .setRecordVideoSize(1280, 720)
+                        .setViewportSize(1280, 720));
     }
 
     @AfterAll
     static void closeBrowser() {
-        if (browser != null) {
-            browser.close();
-        }
-        if (playwright != null) {
-            playwright.close();
+        if (harness != null) {
+            harness.close();
         }
     }
 
     @BeforeEach
-    void createContextAndPage() {
-        // Create context with video recording
-        context = browser.newContext(new Browser.NewContextOptions()
-                .setRecordVideoDir(Paths.get("videos/"))
-                .setRecordVideoSize(1280, 720)
-                .setViewportSize(1280, 720));
-        
-        page = context.newPage();
-        
-        // Set longer timeout for CI environments
-        page.setDefaultTimeout(60000); // 60 seconds
-        page.setDefaultNavigationTimeout(60000);
-        
-        // Clear cookies and storage to ensure clean state
-        context.clearCookies();
+    void createContextAndPage(TestInfo testInfo) {
+        harness.open(testInfo.getDisplayName());
     }
 
     @AfterEach
     void closeContext() {
-        if (context != null) {
-            context.close();
-        }
+        harness.finish();
     }
 
     @Test
     @DisplayName("Verify DePaul Bookstore Website Loads")
     public void testWebsiteAccessibility() {
-        System.out.println("=== Test Case 1: Website Accessibility ===");
-        
-        // Navigate to DePaul bookstore
-        page.navigate("https://depaul.bncollege.com/");
-        page.waitForLoadState();
-        
-        // Verify page loaded successfully
-        assertThat(page).hasURL("https://depaul.bncollege.com/");
-        
-        // Verify page title exists
-        String title = page.title();
-        System.out.println("Page Title: " + title);
-        org.junit.jupiter.api.Assertions.assertNotNull(title, "Page title should not be null");
-        org.junit.jupiter.api.Assertions.assertFalse(title.isEmpty(), "Page title should not be empty");
-        
-        System.out.println("✅ Website accessibility test passed");
+        harness.run(page -> {
+            System.out.println("=== Test Case 1: Website Accessibility ===");
+            
+            // Navigate to DePaul bookstore
+            page.navigate(harness.baseUrl() + "/");
+            page.waitForLoadState();
+            
+            // Verify page loaded successfully
+            assertThat(page).hasURL(harness.baseUrl() + "/");
+            
+            // Verify page title exists
+            String title = page.title();
+            System.out.println("Page Title: " + title);
+            org.junit.jupiter.api.Assertions.assertNotNull(title, "Page title should not be null");
+            org.junit.jupiter.api.Assertions.assertFalse(title.isEmpty(), "Page title should not be empty");
+            
+            System.out.println("✅ Website accessibility test passed");
+        });
     }
     
     @Test
     @DisplayName("Verify Playwright Navigation Works")
     public void testNavigationFunctionality() {
-        System.out.println("=== Test Case 2: Navigation Functionality ===");
-        
-        // Navigate to DePaul bookstore
-        page.navigate("https://depaul.bncollege.com/");
-        page.waitForLoadState();
-        
-        // Verify we can get the URL
-        String currentUrl = page.url();
-        System.out.println("Current URL: " + currentUrl);
-        org.junit.jupiter.api.Assertions.assertTrue(currentUrl.contains("depaul"), "Should be on DePaul website");
-        
-        // Verify we can take a screenshot (demonstrates Playwright functionality)
-        byte[] screenshot = page.screenshot();
-        org.junit.jupiter.api.Assertions.assertTrue(screenshot.length > 0, "Screenshot should be captured");
-        
-        System.out.println("✅ Navigation functionality test passed");
+        harness.run(page -> {
+            System.out.println("=== Test Case 2: Navigation Functionality ===");
+            
+            // Navigate to DePaul bookstore
+            page.navigate(harness.baseUrl() + "/");
+            page.waitForLoadState();
+            
+            // Verify we can get the URL
+            String currentUrl = page.url();
+            System.out.println("Current URL: " + currentUrl);
+            org.junit.jupiter.api.Assertions.assertTrue(currentUrl.startsWith(harness.baseUrl()), "Should be on DePaul website");
+            
+            // Verify we can take a screenshot (demonstrates Playwright functionality)
+            byte[] screenshot = page.screenshot();
+            org.junit.jupiter.api.Assertions.assertTrue(screenshot.length > 0, "Screenshot should be captured");
+            
+            System.out.println("✅ Navigation functionality test passed");
+        });
     }
     
     @Test
     @DisplayName("Verify Page Elements Detection")
     public void testElementDetection() {
-        System.out.println("=== Test Case 3: Element Detection ===");
-        
-        page.navigate("https://depaul.bncollege.com/");
-        page.waitForLoadState();
-        
-        // Check if body element exists (should always be present)
-        Locator body = page.locator("body");
-        assertThat(body).isVisible();
-        
-        // Check if we can find any links on the page
-        int linkCount = page.locator("a").count();
-        System.out.println("Links found: " + linkCount);
-        org.junit.jupiter.api.Assertions.assertTrue(linkCount > 0, "Page should have links");
-        
-        System.out.println("✅ Element detection test passed");
+        harness.run(page -> {
+            System.out.println("=== Test Case 3: Element Detection ===");
+            
+            page.navigate(harness.baseUrl() + "/");
+            page.waitForLoadState();
+            
+            // Check if body element exists (should always be present)
+            Locator body = page.locator("body");
+            assertThat(body).isVisible();
+            
+            // Check if we can find any links on the page
+            int linkCount = page.locator("a").count();
+            System.out.println("Links found: " + linkCount);
+            org.junit.jupiter.api.Assertions.assertTrue(linkCount > 0, "Page should have links");
+            
+            System.out.println("✅ Element detection test passed");
+        });
+    }
+
+    @Test
+    @DisplayName("Verify Purchase Pathway On Local Storefront")
+    public void testPurchasePathwayOnLocalStorefront() {
+        Assumptions.assumeTrue(harness.storefront() != null, "Requires the local storefront (-Dstorefront=local)");
+        harness.run(page -> {
+            System.out.println("=== Test Case 4: Purchase Pathway ===");
+
+            // Search for earbuds and narrow down to the JBL Quantum
+            page.navigate(harness.baseUrl() + "/");
+            Locator searchBox = page.locator("input[placeholder*='Search']").first();
+            searchBox.fill("earbuds");
+            searchBox.press("Enter");
+            selectFilter(page, "Brand", "JBL");
+            selectFilter(page, "Color", "Black");
+            selectFilter(page, "Price", "Over $50");
+            assertThat(page.locator(".result-count")).hasText("1 Results");
+            page.locator("text=JBL Quantum True Wireless").first().click();
+
+            // Product page
+            assertThat(page.locator("h1.product-name")).containsText("JBL Quantum True Wireless");
+            assertThat(page.locator(".product-sku")).containsText("SKU");
+            assertThat(page.locator(".product-price")).hasText("$149.98");
+            page.locator("button:has-text('Add to Cart')").click();
+            assertThat(page.locator(".cart-count")).hasText("1");
+            page.locator("a[href*='cart']").first().click();
+
+            // Shopping cart with pickup, sidebar totals and a rejected promo code
+            assertThat(page.locator("h1")).hasText("Your Shopping Cart");
+            assertThat(page.locator(".cart-item-name")).containsText("JBL Quantum");
+            assertThat(page.locator("input[name='quantity']")).hasValue("1");
+            page.locator("label:has-text('In-Store Pickup')").click();
+            assertOrderSummary(page, "$149.98", "$2.00", "TBD", "$151.98");
+            page.locator("input[name*='promo']").fill("TEST");
+            page.locator("button:has-text('Apply')").click();
+            assertThat(page.locator(".promo-error")).containsText("not valid");
+            page.locator("button:has-text('Proceed To Checkout')").click();
+
+            // Create account, then continue as guest
+            assertThat(page.locator("h1")).hasText("Create Account");
+            page.locator("button:has-text('Guest')").click();
+
+            // Contact information
+            assertThat(page.locator("h1")).hasText("Contact Information");
+            page.locator("input[name='firstName']").fill("John");
+            page.locator("input[name='lastName']").fill("Doe");
+            page.locator("input[type='email']").fill("john.doe@example.com");
+            page.locator("input[type='tel']").fill("3125551234");
+            assertOrderSummary(page, "$149.98", "$2.00", "TBD", "$151.98");
+            page.locator("button:has-text('Continue')").click();
+
+            // Pickup information
+            assertThat(page.locator(".contact-summary")).containsText("John Doe");
+            assertThat(page.locator(".contact-summary")).containsText("john.doe@example.com");
+            assertThat(page.locator(".pickup-location")).containsText("DePaul University");
+            assertThat(page.locator("input[name='pickupPerson'][value='self']")).isChecked();
+            assertThat(page.locator(".summary-item-price")).hasText("$149.98");
+            page.locator("button:has-text('Continue')").click();
+
+            // Payment information shows the calculated taxes
+            assertThat(page.locator("h1")).hasText("Payment Information");
+            assertOrderSummary(page, "$149.98", "$2.00", "$15.58", "$167.56");
+            page.locator("a:has-text('Back to Cart')").click();
+
+            // Remove the product and verify the cart is empty
+            page.locator("button:has-text('Remove')").click();
+            assertThat(page.locator(".cart-empty")).hasText("Your cart is empty");
+            assertThat(page.locator(".cart-count")).hasText("0");
+
+            System.out.println("✅ Purchase pathway test passed");
+        });
+    }
+
+    @Test
+    @DisplayName("Verify Cart Survives Slow And Failing Endpoints")
+    public void testCartResilienceOnLocalStorefront() {
+        LocalStorefront storefront = harness.storefront();
+        Assumptions.assumeTrue(storefront != null, "Requires the local storefront (-Dstorefront=local)");
+        storefront.delay("/cart", 1000).fail("/cart/promo", 503);
+        try {
+            harness.run(page -> {
+                System.out.println("=== Test Case 5: Cart Resilience ===");
+
+                page.navigate(harness.baseUrl() + "/product/jbl-quantum-tws-black");
+                long start = System.currentTimeMillis();
+                page.locator("button:has-text('Add to Cart')").click();
+                assertThat(page.locator(".cart-count")).hasText("1");
+                page.locator("a[href*='cart']").first().click();
+                assertThat(page.locator(".order-summary .subtotal dd")).hasText("$149.98");
+                long elapsed = System.currentTimeMillis() - start;
+                System.out.println("Add to cart and open cart took " + elapsed + " ms");
+                // Both /cart/add and /cart were delayed by one second
+                org.junit.jupiter.api.Assertions.assertTrue(elapsed >= 2000, "Injected latency should be observed");
+
+                // The promo endpoint is down, but the cart must keep its contents
+                page.locator("input[name*='promo']").fill("TEST");
+                page.locator("button:has-text('Apply')").click();
+                assertThat(page.locator("h1")).hasText("Service Unavailable");
+                page.navigate(harness.baseUrl() + "/cart");
+                assertThat(page.locator(".cart-item-name")).containsText("JBL Quantum");
+                assertOrderSummary(page, "$149.98", "$2.00", "TBD", "$151.98");
+
+                System.out.println("✅ Cart resilience test passed");
+            });
+        } finally {
+            storefront.clearFaults();
+        }
+    }
+
+    @Test
+    @DisplayName("Verify Slow Endpoint Does Not Hold Up Other Requests")
+    public void testDelayedEndpointIsolationOnLocalStorefront() {
+        LocalStorefront storefront = harness.storefront();
+        Assumptions.assumeTrue(storefront != null, "Requires the local storefront (-Dstorefront=local)");
+        storefront.delay("/cart", 3000);
+        try {
+            harness.run(page -> {
+                System.out.println("=== Test Case 6: Delayed Endpoint Isolation ===");
+
+                page.navigate(harness.baseUrl() + "/");
+                // Start the slow cart request, then time an unrelated asset while it is in flight
+                Object timings = page.evaluate("async () => {"
+                        + "  const start = performance.now();"
+                        + "  const cart = fetch('/cart', { cache: 'no-store' }).then(() => performance.now() - start);"
+                        + "  await fetch('/static/storefront.css', { cache: 'no-store' });"
+                        + "  const asset = performance.now() - start;"
+                        + "  return [asset, await cart];"
+                        + "}");
+                java.util.List<?> millis = (java.util.List<?>) timings;
+                double asset = ((Number) millis.get(0)).doubleValue();
+                double cart = ((Number) millis.get(1)).doubleValue();
+                System.out.println("Stylesheet took " + asset + " ms, cart took " + cart + " ms");
+                org.junit.jupiter.api.Assertions.assertTrue(cart >= 3000, "Injected latency should be observed");
+                org.junit.jupiter.api.Assertions.assertTrue(asset < 1000, "Stylesheet should not wait for the cart");
+
+                System.out.println("✅ Delayed endpoint isolation test passed");
+            });
+        } finally {
+            storefront.clearFaults();
+        }
+    }
+
+    private static void selectFilter(Page page, String filterName, String optionName) {
+        page.locator(String.format("button:has-text('%s')", filterName)).click();
+        page.locator(String.format("label:has-text('%s')", optionName)).click();
+    }
+
+    private static void assertOrderSummary(Page page, String subtotal, String handling, String taxes, String total) {
+        assertThat(page.locator(".order-summary .subtotal dd")).hasText(subtotal);
+        assertThat(page.locator(".order-summary .handling dd")).hasText(handling);
+        assertThat(page.locator(".order-summary .taxes dd")).hasText(taxes);
+        assertThat(page.locator(".order-summary .total dd")).hasText(total);
     }
 
     // Original complex test cases preserved below for reference